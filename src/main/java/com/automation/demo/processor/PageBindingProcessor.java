@@ -0,0 +1,323 @@
+package com.automation.demo.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Bindings} class for every page object annotated with
+ * {@code @BindElements}, assigning its @FindBy fields plain BoundElement instances, so
+ * constructing a page costs no reflection and no dynamic proxies. Locators are validated while
+ * compiling: exactly one strategy per field, no empty values, no compound class names, XPath
+ * that compiles as XPath 1.0 (what browsers evaluate) and CSS with balanced brackets, quotes and
+ * combinators. Picked up by the test compilation through META-INF/services, like Lombok.
+ */
+@SupportedAnnotationTypes(PageBindingProcessor.BIND_ELEMENTS)
+public class PageBindingProcessor extends AbstractProcessor {
+
+    static final String BIND_ELEMENTS = "com.automation.demo.ui.utils.BindElements";
+    private static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    private static final String FIND_BYS = "org.openqa.selenium.support.FindBys";
+    private static final String FIND_ALL = "org.openqa.selenium.support.FindAll";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String WEB_ELEMENT_LIST = "java.util.List<org.openqa.selenium.WebElement>";
+
+    // @FindBy shortcut attribute -> By factory method (or How constant for how/using)
+    private static final Map<String, String> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put("id", "id");
+        STRATEGIES.put("name", "name");
+        STRATEGIES.put("className", "className");
+        STRATEGIES.put("css", "cssSelector");
+        STRATEGIES.put("tagName", "tagName");
+        STRATEGIES.put("linkText", "linkText");
+        STRATEGIES.put("partialLinkText", "partialLinkText");
+        STRATEGIES.put("xpath", "xpath");
+    }
+
+    private static final Map<String, String> HOW_STRATEGIES = Map.of(
+            "ID", "id", "NAME", "name", "CLASS_NAME", "className", "CSS", "css", "TAG_NAME", "tagName",
+            "LINK_TEXT", "linkText", "PARTIAL_LINK_TEXT", "partialLinkText", "XPATH", "xpath", "ID_OR_NAME", "idOrName");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@BindElements is only supported on page object classes");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement page) {
+        List<Binding> bindings = new ArrayList<>();
+        boolean valid = true;
+        for (Element member : page.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            if (mirror(member, FIND_BYS) != null || mirror(member, FIND_ALL) != null) {
+                valid &= error(member, "@FindBys and @FindAll are not supported by generated bindings, use a single @FindBy");
+                continue;
+            }
+            AnnotationMirror findBy = mirror(member, FIND_BY);
+            if (findBy == null) {
+                continue;
+            }
+            Binding binding = binding((VariableElement) member, findBy);
+            if (binding == null) {
+                valid = false;
+            } else {
+                bindings.add(binding);
+            }
+        }
+        if (valid) {
+            write(page, bindings);
+        }
+    }
+
+    private Binding binding(VariableElement field, AnnotationMirror findBy) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            error(field, "@FindBy field bound by generated code must not be private, final or static");
+            return null;
+        }
+        String type = field.asType().toString();
+        boolean list = WEB_ELEMENT_LIST.equals(type);
+        if (!list && !WEB_ELEMENT.equals(type)) {
+            error(field, "@FindBy field must be a WebElement or List<WebElement>, got " + type);
+            return null;
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : findBy.getElementValues().entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), String.valueOf(entry.getValue().getValue()));
+        }
+        List<String> shortcuts = new ArrayList<>();
+        for (String attribute : STRATEGIES.keySet()) {
+            if (values.containsKey(attribute)) {
+                shortcuts.add(attribute);
+            }
+        }
+        String how = values.get("how");
+        boolean howUsing = how != null && !"UNSET".equals(how);
+        if (shortcuts.size() + (howUsing ? 1 : 0) != 1) {
+            error(field, "@FindBy must set exactly one locator strategy, got " + values.keySet());
+            return null;
+        }
+
+        String strategy;
+        String value;
+        if (howUsing) {
+            strategy = HOW_STRATEGIES.get(how);
+            value = values.getOrDefault("using", "");
+        } else {
+            strategy = shortcuts.get(0);
+            value = values.get(strategy);
+        }
+        String problem = validate(strategy, value);
+        if (problem != null) {
+            error(field, "Invalid @FindBy " + strategy + " locator '" + value + "': " + problem);
+            return null;
+        }
+        String by = "idOrName".equals(strategy)
+                ? "new org.openqa.selenium.support.pagefactory.ByIdOrName(" + literal(value) + ")"
+                : "org.openqa.selenium.By." + STRATEGIES.get(strategy) + "(" + literal(value) + ")";
+        return new Binding(field.getSimpleName().toString(), by, list);
+    }
+
+    /**
+     * @return Why the locator can never match, or null if it looks valid.
+     */
+    static String validate(String strategy, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return "the value is empty";
+        }
+        switch (strategy) {
+            case "className":
+                return value.trim().matches(".*\\s.*") ? "compound class names are not permitted, use css = \"." + value.trim().replaceAll("\\s+", ".") + "\"" : null;
+            case "xpath":
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                    return null;
+                } catch (XPathExpressionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    return "not a valid XPath 1.0 expression (" + cause.getMessage() + ")";
+                }
+            case "css":
+                return validateCss(value);
+            default:
+                return null;
+        }
+    }
+
+    private static String validateCss(String selector) {
+        StringBuilder unquoted = new StringBuilder();
+        char quote = 0;
+        int brackets = 0;
+        int parens = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '\\') {
+                i++;
+                unquoted.append('x');
+                continue;
+            }
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+                unquoted.append('x');
+                continue;
+            }
+            if (c == '[') {
+                if (brackets > 0) {
+                    return "nested '['";
+                }
+                brackets++;
+            } else if (c == ']') {
+                if (--brackets < 0) {
+                    return "unbalanced ']'";
+                }
+            } else if (c == '(') {
+                parens++;
+            } else if (c == ')') {
+                if (--parens < 0) {
+                    return "unbalanced ')'";
+                }
+            }
+            unquoted.append(c);
+        }
+        if (quote != 0) {
+            return "unterminated string";
+        }
+        if (brackets != 0 || parens != 0) {
+            return "unbalanced " + (brackets != 0 ? "'['" : "'('");
+        }
+        for (String group : unquoted.toString().split(",", -1)) {
+            String trimmed = group.trim();
+            if (trimmed.isEmpty()) {
+                return "empty selector in a selector list";
+            }
+            if (trimmed.matches("^[>+~].*|.*[>+~]$")) {
+                return "selector starts or ends with a combinator";
+            }
+            if (trimmed.matches(".*[>+~]\\s*[>+~].*")) {
+                return "two consecutive combinators";
+            }
+        }
+        return null;
+    }
+
+    private void write(TypeElement page, List<Binding> bindings) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String pageName = page.getSimpleName().toString();
+        String className = pageName + "_Bindings";
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Locator bindings of {@link ").append(pageName).append("}, generated from its @FindBy fields.\n */\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(PageBindingProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(className).append(" {\n\n");
+        for (Binding binding : bindings) {
+            source.append("    public static final org.openqa.selenium.By ").append(binding.constant())
+                    .append(" = ").append(binding.by).append(";\n");
+        }
+        source.append("\n    private ").append(className).append("() {\n    }\n\n");
+        source.append("    public static void bind(").append(pageName).append(" page, org.openqa.selenium.WebDriver driver) {\n");
+        for (Binding binding : bindings) {
+            source.append("        page.").append(binding.field).append(" = com.automation.demo.ui.utils.BoundElement.")
+                    .append(binding.list ? "listOf" : "of").append("(driver, ").append(binding.constant())
+                    .append(", \"").append(pageName).append("\");\n");
+        }
+        source.append("    }\n}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + className, page).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(page, "Could not write " + className + ": " + e.getMessage());
+        }
+    }
+
+    private static AnnotationMirror mirror(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                case '\t': literal.append("\\t"); break;
+                default: literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private boolean error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private static class Binding {
+        private final String field;
+        private final String by;
+        private final boolean list;
+
+        private Binding(String field, String by, boolean list) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+        }
+
+        /**
+         * fullNameField -> FULL_NAME_FIELD
+         */
+        private String constant() {
+            return field.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.automation.demo.api.base; // Correct package based on your structure
 
 
+import com.automation.demo.ui.utils.CallWatchdog;
 import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.TestDeadline;
 
 
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.RequestLoggingFilter;
@@ -14,6 +17,10 @@ import io.restassured.http.ContentType;
 
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpConnection;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.AbstractHttpClient;
 import org.apache.logging.log4j.Logger;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
@@ -26,6 +33,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.io.InputStream;
 
 /**
@@ -232,40 +240,75 @@ public void tearDownApiBaseSuite() {
      * The core engine for sending REST API requests with retry logic.
      * This method implements the RequestSender contract for REST APIs.
      * It uses the thread-local RequestSpecification internally.
+     * Requests and retries stop at the running test's time budget (see TestDeadline): each attempt's
+     * connect and socket timeouts are capped to what is left of it, and a retry delay that would
+     * outlast it fails the test right away. An attempt hanging past 'watchdog.api.call.limit.seconds'
+     * has its connection closed by the CallWatchdog and fails the test without further retries.
      *
      * @param endpoint The API endpoint path.
      * @param requestBody The request body object (POJO, Map, String, or null for GET/DELETE).
      * @param httpMethod The HTTP method (GET, POST, PUT, DELETE, PATCH).
      * @return The API Response.
      * @throws RuntimeException if the request fails after all retries or an unsupported method is provided.
+     * @throws TestDeadline.DeadlineExceededException if the test's time budget runs out.
+     * @throws CallWatchdog.HungCallException if an attempt hangs.
      */
     public static Response sendRequestWithRetry(String endpoint, Object requestBody, String httpMethod) {
         // This method is the concrete implementation of RequestSender's 'send' method.
         // It provides the retry logic and uses the thread-local RequestSpecification.
         Response response = null;
+        String activity = "api " + httpMethod.toUpperCase() + " " + endpoint;
         for (int i = 0; i <= DEFAULT_MAX_RETRIES; i++) {
+            long attemptStart = System.nanoTime();
             try {
+                TestDeadline.check("sending " + activity);
                 // Get the thread's current spec (which should be initialBaseRequestSpec or one with auth)
                 RequestSpecification currentSpec = getRequestSpec(); // Get the thread's current spec
                  // CRUCIAL: Start with RestAssured.given() to ensure global config is applied,
                 // then apply the currentSpec (from ThreadLocal)
                 RequestSpecification finalSpec = RestAssured.given().spec(currentSpec);
-
-                // Build the request based on HTTP method
-                if ("POST".equalsIgnoreCase(httpMethod)) {
-                    response = finalSpec.body(requestBody).post(endpoint);
-                } else if ("GET".equalsIgnoreCase(httpMethod)) {
-                    response = finalSpec.get(endpoint);
-                } else if ("PUT".equalsIgnoreCase(httpMethod)) {
-                    response = finalSpec.body(requestBody).put(endpoint);
-                } else if ("DELETE".equalsIgnoreCase(httpMethod)) {
-                    response = finalSpec.delete(endpoint);
-                } else if ("PATCH".equalsIgnoreCase(httpMethod)) {
-                    response = finalSpec.body(requestBody).patch(endpoint);
-                } else {
-                    throw new IllegalArgumentException("Unsupported HTTP method for retry: " + httpMethod);
+                // Keeps the attempt's connection, so the CallWatchdog can close it if the attempt hangs
+                AttemptClient attemptClient = new AttemptClient(RestAssured.config().getHttpClientConfig());
+                HttpClientConfig clientConfig = RestAssured.config().getHttpClientConfig().httpClientFactory(attemptClient);
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(TestDeadline.remainingNanos());
+                if (remainingMillis < Integer.MAX_VALUE) {
+                    // A hanging server can't keep the test past its budget
+                    int timeout = (int) Math.max(1, remainingMillis);
+                    clientConfig = clientConfig
+                            .setParam("http.connection.timeout", timeout)
+                            .setParam("http.socket.timeout", timeout);
+                }
+                finalSpec.config(RestAssured.config().httpClient(clientConfig));
+
+                CallWatchdog.Call call = CallWatchdog.getInstance().begin(CallWatchdog.CallType.API, httpMethod.toUpperCase() + " " + endpoint, attemptClient::abort);
+                Exception error = null;
+                try {
+                    // Build the request based on HTTP method
+                    if ("POST".equalsIgnoreCase(httpMethod)) {
+                        response = finalSpec.body(requestBody).post(endpoint);
+                    } else if ("GET".equalsIgnoreCase(httpMethod)) {
+                        response = finalSpec.get(endpoint);
+                    } else if ("PUT".equalsIgnoreCase(httpMethod)) {
+                        response = finalSpec.body(requestBody).put(endpoint);
+                    } else if ("DELETE".equalsIgnoreCase(httpMethod)) {
+                        response = finalSpec.delete(endpoint);
+                    } else if ("PATCH".equalsIgnoreCase(httpMethod)) {
+                        response = finalSpec.body(requestBody).patch(endpoint);
+                    } else {
+                        throw new IllegalArgumentException("Unsupported HTTP method for retry: " + httpMethod);
+                    }
+                    // RestAssured reads the body lazily: buffer it while the attempt is watched and its client open
+                    response.asByteArray();
+                } catch (Exception e) {
+                    // RestAssured also throws checked IO exceptions undeclared
+                    error = e;
+                    throw e;
+                } finally {
+                    attemptClient.close();
+                    CallWatchdog.getInstance().end(call, error);
                 }
 
+                TestDeadline.record(activity, System.nanoTime() - attemptStart);
                 if (response.statusCode() < 500) { // Success (2xx) or client error (4xx) - no retry needed
                     logger.debug("Request successful or client error (Status: {}). No retry needed.", response.statusCode());
                     return response;
@@ -273,13 +316,20 @@ public void tearDownApiBaseSuite() {
                 logger.warn("Received 5xx error (Status: {}), retrying... Attempt {}/{}", response.statusCode(), (i + 1), DEFAULT_MAX_RETRIES);
 
                 if (i < DEFAULT_MAX_RETRIES) {
+                    if (TestDeadline.remainingNanos() < TimeUnit.MILLISECONDS.toNanos(DEFAULT_RETRY_DELAY_MILLIS)) {
+                        throw TestDeadline.exceeded("about to retry " + activity + " after status " + response.statusCode());
+                    }
                     Thread.sleep(DEFAULT_RETRY_DELAY_MILLIS);
+                    TestDeadline.record("api retry delay", TimeUnit.MILLISECONDS.toNanos(DEFAULT_RETRY_DELAY_MILLIS));
                 }
+            } catch (TestDeadline.DeadlineExceededException | CallWatchdog.HungCallException e) {
+                throw e;
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 logger.error("Request retry interrupted: " + e.getMessage());
                 throw new RuntimeException("API request retry interrupted.", e);
             } catch (Exception e) {
+                TestDeadline.record(activity, System.nanoTime() - attemptStart);
                 logger.error("Error during API request attempt " + (i + 1) + ": " + e.getMessage(), e);
                 if (i == DEFAULT_MAX_RETRIES) {
                     throw new RuntimeException("API request failed after " + (DEFAULT_MAX_RETRIES + 1) + " attempts for endpoint: " + endpoint, e);
@@ -305,4 +355,57 @@ public void tearDownApiBaseSuite() {
     public static void clearUserId() {
         userUpdateIdThreadLocal.remove();
     }
-}
\ No newline at end of file
+
+    /**
+     * Client of one request attempt: RestAssured's default client, which remembers the connection
+     * of its request so the CallWatchdog can close it if the attempt hangs, and is shut down after
+     * the attempt. RestAssured 5 runs on the HttpClient 4 classic API and requires an
+     * AbstractHttpClient, so the deprecated interceptor and connection manager calls can't be avoided.
+     */
+    @SuppressWarnings("deprecation")
+    private static final class AttemptClient implements HttpClientConfig.HttpClientFactory {
+        private final HttpClientConfig defaults;
+        private volatile HttpClient client;
+        private volatile HttpConnection connection;
+
+        private AttemptClient(HttpClientConfig defaults) {
+            this.defaults = defaults;
+        }
+
+        @Override
+        public HttpClient createHttpClient() {
+            HttpClient created = defaults.httpClientInstance();
+            if (created instanceof AbstractHttpClient) {
+                ((AbstractHttpClient) created).addRequestInterceptor((request, context) ->
+                        connection = (HttpConnection) context.getAttribute(HttpClientContext.HTTP_CONNECTION));
+            }
+            client = created;
+            return created;
+        }
+
+        /**
+         * Closes the connection of the hung request, from the watchdog thread.
+         */
+        private void abort() {
+            HttpConnection current = connection;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.shutdown();
+            } catch (IOException e) {
+                logger.warn("Could not close the connection of the hung request: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Releases the attempt's connections, once its response body has been buffered.
+         */
+        private void close() {
+            HttpClient current = client;
+            if (current != null) {
+                current.getConnectionManager().shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.automation.demo.processor;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Exercises the compile-time locator validation of PageBindingProcessor.
+ */
+public class PageBindingProcessorTest {
+
+    @DataProvider
+    public Object[][] validLocators() {
+        return new Object[][]{
+                {"id", "userName"},
+                {"name", "email"},
+                {"className", "inventory_item"},
+                {"tagName", "button"},
+                {"linkText", "Log out"},
+                {"xpath", "//div[@id='output']/p[contains(text(), 'Name')]"},
+                {"css", "#tree-node-home"},
+                {"css", "div.inventory_item > button[id^='add-to-cart']"},
+                {"css", "input[value='a, b > c']"},
+                {"css", "ul li:nth-child(2), ol li:not(.done)"},
+                {"css", "#a\\[1\\]"},
+        };
+    }
+
+    @DataProvider
+    public Object[][] invalidLocators() {
+        return new Object[][]{
+                {"id", "", "the value is empty"},
+                {"xpath", "   ", "the value is empty"},
+                {"className", "btn primary", "compound class names are not permitted"},
+                {"xpath", "//div[@id='output'", "not a valid XPath 1.0 expression"},
+                {"css", "div[id='a'", "unbalanced '['"},
+                {"css", "div]", "unbalanced ']'"},
+                {"css", "li:not(.done", "unbalanced '('"},
+                {"css", "input[value='a]", "unterminated string"},
+                {"css", "a[b[c]]", "nested '['"},
+                {"css", "div,,span", "empty selector in a selector list"},
+                {"css", "> div", "selector starts or ends with a combinator"},
+                {"css", "div >", "selector starts or ends with a combinator"},
+                {"css", "div > + span", "two consecutive combinators"},
+        };
+    }
+
+    @Test(dataProvider = "validLocators")
+    public void acceptsValidLocators(String strategy, String value) {
+        Assert.assertNull(PageBindingProcessor.validate(strategy, value), "Rejected valid " + strategy + " locator '" + value + "'");
+    }
+
+    @Test(dataProvider = "invalidLocators")
+    public void rejectsLocatorsThatCanNeverMatch(String strategy, String value, String expectedProblem) {
+        String problem = PageBindingProcessor.validate(strategy, value);
+        Assert.assertNotNull(problem, "Accepted invalid " + strategy + " locator '" + value + "'");
+        Assert.assertTrue(problem.startsWith(expectedProblem), "Unexpected problem for '" + value + "': " + problem);
+    }
+
+    @Test
+    public void suggestsCssForCompoundClassNames() {
+        Assert.assertEquals(PageBindingProcessor.validate("className", " btn  primary "),
+                "compound class names are not permitted, use css = \".btn.primary\"");
+    }
+}
@@ -1,37 +1,50 @@
 package com.automation.demo.ui.base;
 
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import com.automation.demo.ui.utils.AdaptiveParallelismController;
 import com.automation.demo.ui.utils.DriverManager;
+import com.automation.demo.ui.utils.DriverPool;
+import com.automation.demo.ui.utils.StartUrlResolver;
 import com.automation.demo.ui.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 import com.automation.demo.ui.utils.ScreenshotUtil;
 
+import java.lang.reflect.Method;
+
 public class BaseTest {
 
     private static final Logger logger = LoggerUtil.getLogger(BaseTest.class);
 
     @BeforeMethod(alwaysRun = true) // Use alwaysRun for reliability
-    public void setUp() {
+    public void setUp(ITestContext context, Method method) {
+        // Size the session pool to the number of worker threads that can hold a driver at once
+        if (DriverManager.isPoolingEnabled()) {
+            DriverPool.getInstance().sizeToSuite(context.getSuite().getXmlSuite());
+        }
+
         // This ONE line triggers the entire driver initialization:
         // 1. Checks ThreadLocal (it's null)
-        // 2. Calls DriverFactory.createDriver()
+        // 2. Borrows a warm session from DriverPool (or calls DriverFactory.createDriver())
         // 3. DriverFactory reads ConfigReader (which checks mvn -D or config.properties)
         // 4. Creates local or remote driver
         // 5. Configures it
-        // 6. Stores it in ThreadLocal
+        // 6. Opens the test's @StartUrl, unless the pooled session is already on it
+        // 7. Stores it in ThreadLocal
         try {
-            DriverManager.getDriver(); // This is the only setup call you need.
-            logger.info("WebDriver initialized by DriverManager for thread: {}", Thread.currentThread().threadId());
-        
-            // Optional: You can still navigate to a base URL here
-            // String baseUrl = ConfigReader.getProperty("app.url");
-            // if (baseUrl != null) {
-            //     DriverManager.getDriver().get(baseUrl);
-            // }
+            // Wait until the adaptive parallelism controller has room for another browser on this host
+            AdaptiveParallelismController.getInstance().acquire();
+            String startUrl = StartUrlResolver.resolve(method);
+            DriverManager.getDriver(startUrl); // This is the only setup call you need.
+            logger.info("WebDriver initialized by DriverManager for thread: {} (start URL: {})", Thread.currentThread().threadId(), startUrl);
 
+        } catch (SkipException e) {
+            logger.warn("Skipping {}: {}", method.getName(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.fatal("FATAL: Driver setup failed! Test will be skipped.", e);
             // Re-throw or use TestNG's SkipException to stop this test
@@ -60,8 +73,12 @@ public class BaseTest {
         }
 
         // Centralized cleanup
-        // This single method handles both driver.quit() AND driver.remove()
-        logger.info("Closing browser and cleaning up driver for thread: {}", Thread.currentThread().threadId());
-        DriverManager.quitDriver();
+        // Returns the session to the pool (reset for the next test) AND removes it from the ThreadLocal
+        logger.info("Releasing browser and cleaning up driver for thread: {}", Thread.currentThread().threadId());
+        try {
+            DriverManager.releaseDriver();
+        } finally {
+            AdaptiveParallelismController.getInstance().release();
+        }
     }
 }
\ No newline at end of file
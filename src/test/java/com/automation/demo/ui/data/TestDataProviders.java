@@ -9,4 +9,10 @@ public class TestDataProviders {
                     {"Ujjawal Verma", "ujjawal@example.com", "123 Test Lane", "456 Automation St"},
             {"John Doe", "john@example.com", "456 A St", "789 B Ave"}
         };}
+
+      // One representative row, for tests that cover a different code path over the same form
+      @DataProvider(name = "formDataSample")
+        public Object[][] getSampleData(){
+                   return new Object[][] {getData()[0]};
+        }
 }
@@ -2,10 +2,26 @@ package com.automation.demo.ui.pageobjects;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import com.automation.demo.ui.utils.ConfigReader;
+import com.automation.demo.ui.utils.CachingElementLocatorFactory;
 import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.DomEventWait.DomCondition;
+import com.automation.demo.ui.utils.ElementSnapshot;
+import com.automation.demo.ui.utils.FormFiller;
+import com.automation.demo.ui.utils.FormFiller.FormFillResult;
+import com.automation.demo.ui.utils.InteractionStrategyCache;
+import com.automation.demo.ui.utils.TextEntry;
+import com.automation.demo.ui.utils.TextEntry.TextEntryMode;
+import com.automation.demo.ui.utils.WaitEngine;
+import com.automation.demo.ui.utils.WaitEngine.CachedWait;
+import com.automation.demo.ui.utils.WaitEngine.WaitMode;
+import com.automation.demo.ui.utils.WaitHistory;
+import com.automation.demo.ui.utils.WaitHistory.Timing;
 
-import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.JavascriptExecutor;
@@ -13,9 +29,6 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
  // Added for common wait conditions
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.By;
-import org.openqa.selenium.ElementClickInterceptedException; // Make sure this is imported
-import org.openqa.selenium.ElementNotInteractableException; // Good to catch this too for native clicks
-import org.openqa.selenium.StaleElementReferenceException;
 
 public abstract class BasePage { // Make it abstract as it's not meant to be instantiated directly
     protected WebDriver driver;
@@ -31,12 +44,30 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
         // for predictable explicit waits. If not, consider adding it here as a safety.
         // driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
 
-        int explicitWaitSeconds = ConfigReader.getIntProperty("default.explicit.wait.seconds");
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWaitSeconds));
-        logger.debug("BasePage initialized with WebDriverWait for " + explicitWaitSeconds + " seconds.");
+        // Shared per driver and timeout, so constructing a page creates no wait and reads no config
+        this.wait = WaitEngine.forDriver(driver);
     }
     //Common methods for all page objects can be added here
 
+    /**
+     * Waits for a condition with the default timeout, recording the wait against this page object.
+     */
+    protected <V> V waitUntil(Function<? super WebDriver, V> condition) {
+        return waitUntil(condition, WaitEngine.getDefaultTimeoutSeconds());
+    }
+
+    protected <V> V waitUntil(Function<? super WebDriver, V> condition, int timeoutSeconds) {
+        return WaitEngine.forDriver(driver, timeoutSeconds).until(getClass().getSimpleName(), condition);
+    }
+
+    /**
+     * Drops the cached @FindBy elements of every page on this driver, for actions known to
+     * re-render the page without navigating (see CachingElementLocatorFactory).
+     */
+    protected void invalidateElementCache() {
+        CachingElementLocatorFactory.invalidate(driver);
+    }
+
     /**
      * Waits for an element to be visible on the page.
      *
@@ -44,36 +75,84 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
      * @return The WebElement once it is visible.
      */
     protected WebElement waitForElementVisible(WebElement element) {
-        logger.info("Waiting for WebElement to be visible.");
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return waitForElementVisible(element, WaitEngine.getDefaultMode());
+    }
+
+    protected WebElement waitForElementVisible(WebElement element, WaitMode mode) {
+        logger.info("Waiting for WebElement to be visible (" + mode + ").");
+        return waitForElement(element, DomCondition.VISIBLE, null, ExpectedConditions.visibilityOf(element), WaitEngine.getDefaultTimeoutSeconds(), true, mode);
     }
 
     protected WebElement waitForElementVisible(WebElement element, int customTimeoutSeconds) {
         logger.info("Waiting for WebElement to be visible for " + customTimeoutSeconds + " seconds.");
-        return new WebDriverWait(driver, Duration.ofSeconds(customTimeoutSeconds))
-               .until(ExpectedConditions.visibilityOf(element));
+        return waitForElement(element, DomCondition.VISIBLE, null, ExpectedConditions.visibilityOf(element), customTimeoutSeconds, false, WaitEngine.getDefaultMode());
     }
 
     protected WebElement waitForElementClickable(WebElement element) {
-        logger.info("Waiting for WebElement to be clickable.");
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return waitForElementClickable(element, WaitEngine.getDefaultMode());
+    }
+
+    protected WebElement waitForElementClickable(WebElement element, WaitMode mode) {
+        logger.info("Waiting for WebElement to be clickable (" + mode + ").");
+        return waitForElement(element, DomCondition.ENABLED, null, ExpectedConditions.elementToBeClickable(element), WaitEngine.getDefaultTimeoutSeconds(), true, mode);
     }
 
     protected WebElement waitForElementClickable(WebElement element, int customTimeoutSeconds) {
         logger.info("Waiting for WebElement to be clickable for " + customTimeoutSeconds + " seconds.");
-        return new WebDriverWait(driver, Duration.ofSeconds(customTimeoutSeconds))
-               .until(ExpectedConditions.elementToBeClickable(element));
+        return waitForElement(element, DomCondition.ENABLED, null, ExpectedConditions.elementToBeClickable(element), customTimeoutSeconds, false, WaitEngine.getDefaultMode());
+    }
+
+    protected WebElement waitForElementPresent(By locator, WaitMode mode) {
+        logger.info("Waiting for element to be present (" + mode + "): " + locator);
+        return waitForElement(locator, DomCondition.PRESENT, null, ExpectedConditions.presenceOfElementLocated(locator), WaitEngine.getDefaultTimeoutSeconds(), true, mode);
+    }
+
+    protected WebElement waitForTextInElement(WebElement element, String text, WaitMode mode) {
+        logger.info("Waiting for WebElement to contain text '" + text + "' (" + mode + ").");
+        Function<WebDriver, Boolean> textPresent = ExpectedConditions.textToBePresentInElement(element, text);
+        return waitForElement(element, DomCondition.TEXT_CONTAINS, text,
+                d -> Boolean.TRUE.equals(textPresent.apply(d)) ? element : null, WaitEngine.getDefaultTimeoutSeconds(), true, mode);
+    }
+
+    /**
+     * Waits for an element condition either by polling the given ExpectedCondition or, in OBSERVER
+     * mode, with a single in-page MutationObserver script (falling back to polling if it can't be used).
+     * Waits of the overloads without a timeout use the timeout and poll interval WaitHistory derives
+     * from how long the same wait took before; timeouts the caller passes are used as given, even
+     * when they equal the default.
+     *
+     * @param useHistory Whether the timeout may be shortened from the wait's history.
+     */
+    private WebElement waitForElement(Object target, DomCondition condition, String expectedText,
+                                      Function<? super WebDriver, WebElement> pollingCondition, int timeoutSeconds,
+                                      boolean useHistory, WaitMode mode) {
+        String scope = getClass().getSimpleName();
+        Timing timing = useHistory ? WaitHistory.getInstance().timing(scope, target, condition.name(), timeoutSeconds) : null;
+        CachedWait wait = timing == null ? WaitEngine.forDriver(driver, timeoutSeconds)
+                : WaitEngine.forDriver(driver, timing.getTimeoutSeconds(), timing.getPollMillis());
+        long start = System.nanoTime();
+        try {
+            WebElement element = mode == WaitMode.OBSERVER
+                    ? wait.untilObserved(scope, target, condition, expectedText, pollingCondition)
+                    : wait.until(scope, pollingCondition);
+            WaitHistory.getInstance().record(timing, System.nanoTime() - start, false);
+            return element;
+        } catch (TimeoutException e) {
+            WaitHistory.getInstance().record(timing, System.nanoTime() - start, true);
+            throw e;
+        }
     }
 
+    /**
+     * Clicks an element with the interaction learned for it (see InteractionStrategyCache), or after a
+     * one-script actionability check (see ActionabilityCheck): a native click when the element
+     * receives it, a JavaScript click right away when it is covered, and a click on its visible
+     * label (or a JavaScript click) when it stays hidden.
+     */
     protected void clickElement(WebElement element) {
-        
-        WebElement clickableElement = waitForElementClickable(element);
+        logger.info("Clicking on WebElement.");
         try {
-            logger.info("Clicking on WebElement using native click.");
-            clickableElement.click();
-        } catch (ElementClickInterceptedException e) {
-            logger.warn("Native click intercepted: Attempting javascript click " + e.getMessage());
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", clickableElement);
+            InteractionStrategyCache.getInstance().click(driver, element, WaitEngine.getDefaultTimeoutSeconds(), getClass().getSimpleName());
         } catch (Exception e) {
             logger.error("Failed to click on WebElement: " + e.getMessage(), e);
             throw e;
@@ -81,26 +160,65 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
     }
 
     protected void clickElement(WebElement element, int customTimeoutSeconds) {
-        
-        WebElement clickableElement = waitForElementClickable(element, customTimeoutSeconds);
         logger.info("Clicking on WebElement with custom timeout.");
-        clickableElement.click();
+        InteractionStrategyCache.getInstance().click(driver, element, customTimeoutSeconds, getClass().getSimpleName());
     }
 
     protected void enterText(WebElement element, String text) {
+        enterText(element, text, TextEntry.getDefaultMode());
+    }
+
+    /**
+     * Enters text into a field, typing it or (FAST/AUTO) setting it in one script call, see TextEntry.
+     * Use FAST for long values such as text areas; it falls back to typing if the page doesn't keep the value.
+     */
+    protected void enterText(WebElement element, String text, TextEntryMode mode) {
         
         WebElement visibleElement = waitForElementVisible(element);
-        logger.info("Entering text '" + text + "' into WebElement.");
-        visibleElement.clear();
-        visibleElement.sendKeys(text);
+        logger.info("Entering text '" + abbreviate(text) + "' into WebElement (" + mode + ").");
+        TextEntry.enter(driver, visibleElement, text, mode);
     }
 
     protected void enterText(WebElement element, String text, int customTimeoutSeconds) {
         
         WebElement visibleElement = waitForElementVisible(element, customTimeoutSeconds);
-        logger.info("Entering text '" + text + "' into WebElement with custom timeout.");
-        visibleElement.clear();
-        visibleElement.sendKeys(text);
+        logger.info("Entering text '" + abbreviate(text) + "' into WebElement with custom timeout.");
+        TextEntry.enter(driver, visibleElement, text, TextEntry.getDefaultMode());
+    }
+
+    /**
+     * Fills a whole form in one browser round trip (see FormFiller), waiting up to the default
+     * timeout while fields are still missing, hidden or disabled. Nothing is filled unless every
+     * field is valid.
+     *
+     * @param fields Field locator (or WebElement) to value, in fill order.
+     * @param submit The submit button to click once all fields are filled, or null to not submit.
+     * @return The outcome per field; check isSuccess() or call requireSuccess().
+     */
+    protected FormFillResult fillForm(Map<?, String> fields, Object submit) {
+        logger.info("Filling " + fields.size() + " form field(s)" + (submit == null ? "." : " and submitting."));
+        AtomicReference<FormFillResult> last = new AtomicReference<>();
+        try {
+            return waitUntil(d -> {
+                FormFillResult result = FormFiller.fill(d, fields, submit);
+                last.set(result);
+                return result.isSettled() ? result : null;
+            });
+        } catch (TimeoutException e) {
+            // Report which fields never became fillable, from the last attempt (which filled nothing)
+            if (last.get() == null) {
+                throw e;
+            }
+            return last.get();
+        }
+    }
+
+    protected FormFillResult fillForm(Map<?, String> fields) {
+        return fillForm(fields, null);
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 100 ? text : text.substring(0, 100) + "... (" + text.length() + " characters)";
     }
 
     protected String getElementText(WebElement element) {
@@ -111,6 +229,36 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
         return text;
     }
 
+    /**
+     * Reads the state of an element (visibility, enabled/selected, text, value and the given
+     * attributes) in a single script call, without waiting.
+     *
+     * @param target A By locator or WebElement.
+     * @param attributes Attribute or property names to include.
+     * @return The snapshot; present=false if the element doesn't exist.
+     */
+    protected ElementSnapshot snapshot(Object target, String... attributes) {
+        return snapshot(List.of(target), attributes).get(0);
+    }
+
+    protected List<ElementSnapshot> snapshot(List<?> targets, String... attributes) {
+        List<ElementSnapshot> snapshots = ElementSnapshot.capture(driver, targets, attributes);
+        logger.info("Captured snapshot of " + targets.size() + " element(s) with attributes " + Arrays.toString(attributes) + ".");
+        return snapshots;
+    }
+
+    /**
+     * Waits until the element is visible and returns its snapshot. The wait polls with the
+     * snapshot script itself, so an already visible element costs exactly one round trip.
+     */
+    protected ElementSnapshot waitForVisibleSnapshot(Object target, String... attributes) {
+        logger.info("Waiting for visible snapshot of: " + target);
+        return waitUntil(d -> {
+            ElementSnapshot snapshot = ElementSnapshot.capture(d, List.of(target), attributes).get(0);
+            return snapshot.isDisplayed() ? snapshot : null;
+        });
+    }
+
     protected boolean isElementDisplayed(WebElement element) {
         try {
             WebElement visibleElement = waitForElementVisible(element);
@@ -126,8 +274,7 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
     // New: Overload for scrolling into view directly with WebElement
     protected void scrollIntoView(WebElement element) {
          logger.info("Scrolling WebElement into view.");
-         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10)); // Or your default wait time
-        WebElement actualElement = wait.until(ExpectedConditions.visibilityOf(element)); // Wait for visibility
+        WebElement actualElement = waitUntil(ExpectedConditions.visibilityOf(element), 10); // Wait for visibility
        logger.info("Scrolling WebElement into view: " + actualElement);
        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", actualElement);
     }
@@ -194,41 +341,35 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
             logger.info("Radio button WebElement already selected.");
         }
     }
-/**
-     * Robust click method that first attempts a native Selenium click.
-     * If the native click fails due to common interaction issues (like interception,
-     * not interactable, or element being off-screen/not immediately clickable),
-     * it falls back to scrolling the element into view and then performing a JavaScript click.
+    /**
+     * Clicks the element located by the locator, waiting up to 10 seconds for it to be attached and
+     * enabled. Covered elements get a JavaScript click right away instead of after the timeout;
+     * elements that stay hidden are clicked through their visible label or with JavaScript.
      *
-     * @param element The WebElement to click (can be a PageFactory proxy).
+     * @param locator The By locator of the element to click.
      */
     protected void clickElementRobustly(By locator) {
-        logger.info("Attempting to click WebElement robustly: " + locator);
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        clickRobustly(locator);
+    }
+
+    /**
+     * Same as {@link #clickElementRobustly(By)} for a page object field, which is located (and healed
+     * when its locator broke, see LocatorHealer) through the page's element cache.
+     *
+     * @param element The element to click.
+     */
+    protected void clickElementRobustly(WebElement element) {
+        clickRobustly(element);
+    }
+
+    private void clickRobustly(Object target) {
+        logger.info("Attempting to click WebElement robustly: " + target);
         try {
-            logger.info("Attempting native click on WebElement directly: " + locator);
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));              
-            element.click();
-            logger.info("Native Click of WebElement is successful: " + locator);
-            return; // Exit if native click is successful
-        } catch (TimeoutException | ElementNotInteractableException | StaleElementReferenceException se) {
-            logger.warn("Native click failed, attempting JavaScript click for WebElement: " + locator + ". Attempting JavaScript click.");
-            try {
-                 // Ensure the element is in view and resolved for JavaScript operations
-                WebElement resolvedElement = findElementRobustly(locator);
-                jsScrollIntoView(resolvedElement);
-                // Perform JavaScript click
-                logger.info("Performing JavaScript click on WebElement after fallback logic: " + resolvedElement);
-                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", resolvedElement);
-            } catch (Exception jsFallbackException) {
-                logger.error("JavaScript click failed on WebElement: " + locator, jsFallbackException);
-            }
-            logger.info("JavaScript click successful on WebElement via fallback on: " + locator);
-        }
-        catch (Exception exception){
-                // Catch any other unexpected exceptions that might occur during the initial native click attempt
-            logger.error("Unexpected error during click on WebElement: " + locator, exception.getMessage());
-            throw new RuntimeException("Failed to click on WebElement with both native and JavaScript methods: " + locator, exception);
+            InteractionStrategyCache.getInstance().click(driver, target, 10, getClass().getSimpleName());
+            logger.info("Click of WebElement is successful: " + target);
+        } catch (Exception exception) {
+            logger.error("Unexpected error during click on WebElement: " + target, exception.getMessage());
+            throw new RuntimeException("Failed to click on WebElement with both native and JavaScript methods: " + target, exception);
         }
     }
     protected void jsScrollIntoView(WebElement element) {
@@ -256,8 +397,7 @@ public abstract class BasePage { // Make it abstract as it's not meant to be ins
         logger.info("Finding WebElement robustly: " + locator);
         try {
             // First, try to find the element normally
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            return wait.until(ExpectedConditions.presenceOfElementLocated(locator));        
+            return waitUntil(ExpectedConditions.presenceOfElementLocated(locator), 10);        
         } catch (Exception e) {
             logger.error("Failed to find WebElement: " + locator + " - " + e.getMessage(), e);
             throw new RuntimeException("Failed to find WebElement: " + locator, e);
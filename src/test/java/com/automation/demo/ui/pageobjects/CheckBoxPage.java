@@ -4,42 +4,44 @@ package com.automation.demo.ui.pageobjects;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.By;
-import org.openqa.selenium.support.PageFactory;
 
+import com.automation.demo.ui.utils.BindElements;
 import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.StartUrl;
 import org.apache.logging.log4j.Logger; // Import Log4j2 Logger
 
-public class CheckBoxPage extends BasePage {
+@BindElements
+@StartUrl("https://demoqa.com/checkbox")
+public final class CheckBoxPage extends BasePage {
     private static final Logger logger = LoggerUtil.getLogger(CheckBoxPage.class);
     
 
     // Constructor
     public CheckBoxPage(WebDriver driver) {
         super(driver); // Call the constructor of BasePage (which initializes 'wait')
-        // *** Initialize Page Factory elements ***
-        // This line tells PageFactory to create proxies for all @FindBy annotated WebElements
-        PageFactory.initElements(driver, this);
-        logger.debug("CheckBoxPage initialized with WebDriver using PageFactory.");
+        // *** Bind the @FindBy elements ***
+        // @FindBy fields are bound by code generated at compile time (no reflection, no proxies),
+        // cached until the page navigates or re-renders
+        CheckBoxPage_Bindings.bind(this, driver);
+        logger.debug("CheckBoxPage initialized with WebDriver using its generated element bindings.");
     }
 
     // Locators
-      // Page Factory Locators using @FindBy annotation on WebElement fields
+      // Locators using @FindBy annotation on WebElement fields
     @FindBy(id = "tree-node-home")
-    private WebElement HomeCheckBox;
-
-    private By homeCheckBoxLocator = By.id("tree-node-home");
+    WebElement HomeCheckBox;
 
     @FindBy(id = "result")
-    private WebElement HomeSelectedText;
+    WebElement HomeSelectedText;
 
 
     // Actions
     public void selectHomeCheckBox() {
-        clickElementRobustly(homeCheckBoxLocator);
+        clickElementRobustly(HomeCheckBox);
     }
     public String getHomeCheckBoxText() {
         logger.info("Getting text from Home CheckBox.");
-        return getElementText(HomeSelectedText);
+        // Visibility and text of the result in one round trip: the script locates it by the HomeSelectedText locator
+        return waitForVisibleSnapshot(CheckBoxPage_Bindings.HOME_SELECTED_TEXT).getText();
     }   
 }
\ No newline at end of file
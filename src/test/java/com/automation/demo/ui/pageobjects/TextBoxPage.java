@@ -1,46 +1,57 @@
 package com.automation.demo.ui.pageobjects;
 
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
+import com.automation.demo.ui.utils.ElementSnapshot;
+import com.automation.demo.ui.utils.FormFiller.FormFillResult;
+import com.automation.demo.ui.utils.BindElements;
 import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.StartUrl;
+import com.automation.demo.ui.utils.TextEntry.TextEntryMode;
 import org.apache.logging.log4j.Logger; // Import Log4j2 Logger
 
-public class TextBoxPage extends BasePage { 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@BindElements
+@StartUrl("https://demoqa.com/text-box")
+public final class TextBoxPage extends BasePage { 
     private static final Logger logger = LoggerUtil.getLogger(TextBoxPage.class);
     
 
     // Constructor
     public TextBoxPage(WebDriver driver) {
         super(driver); // Call the constructor of BasePage (which initializes 'wait')
-        // *** Initialize Page Factory elements ***
-        // This line tells PageFactory to create proxies for all @FindBy annotated WebElements
-        PageFactory.initElements(driver, this);
-        logger.debug("TextBoxPage initialized with WebDriver using PageFactory.");
+        // *** Bind the @FindBy elements ***
+        // @FindBy fields are bound by code generated at compile time (no reflection, no proxies),
+        // cached until the page navigates or re-renders
+        TextBoxPage_Bindings.bind(this, driver);
+        logger.debug("TextBoxPage initialized with WebDriver using its generated element bindings.");
     }
 
     // Locators
-      // Page Factory Locators using @FindBy annotation on WebElement fields
+      // Locators using @FindBy annotation on WebElement fields
     @FindBy(id = "userName")
-    private WebElement fullNameField;
+    WebElement fullNameField;
 
     @FindBy(id = "userEmail")
-    private WebElement emailField;
+    WebElement emailField;
 
     @FindBy(id = "currentAddress")
-    private WebElement currentAddressField;
+    WebElement currentAddressField;
 
     @FindBy(id = "permanentAddress")
-    private WebElement permanentAddressField;
+    WebElement permanentAddressField;
 
     @FindBy(id = "submit")
-    private WebElement submitButton;
+    WebElement submitButton;
 
     @FindBy(id = "output")
-    private WebElement outputBox;
+    WebElement outputBox;
 
     // Actions
     public void fillFullName(String name) {
@@ -52,20 +63,36 @@ public class TextBoxPage extends BasePage {
         enterText(emailField, email);
     }
 
+    // Address text areas can hold long values: set in one call instead of a key event per character
     public void fillCurrentAddress(String address) {
-        enterText(currentAddressField, address);
+        enterText(currentAddressField, address, TextEntryMode.AUTO);
     }
 
     public void fillPermanentAddress(String address) {
-        enterText(permanentAddressField, address);
+        enterText(permanentAddressField, address, TextEntryMode.AUTO);
     }
 
     public void clickSubmit() {
-        scrollIntoView(submitButton);
+        // The actionability check scrolls the button into view itself
         clickElement(submitButton);
     }
 
+    // All four fields and the submit click in one browser round trip; fails listing any field that couldn't be filled
+    public FormFillResult submitForm(String fullName, String email, String currentAddress, String permanentAddress) {
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(TextBoxPage_Bindings.FULL_NAME_FIELD, fullName);
+        fields.put(TextBoxPage_Bindings.EMAIL_FIELD, email);
+        fields.put(TextBoxPage_Bindings.CURRENT_ADDRESS_FIELD, currentAddress);
+        fields.put(TextBoxPage_Bindings.PERMANENT_ADDRESS_FIELD, permanentAddress);
+        return fillForm(fields, TextBoxPage_Bindings.SUBMIT_BUTTON).requireSuccess();
+    }
+
     public String getOutputText() {
-        return getElementText(outputBox);
+        return getOutputSnapshot().getText();
+    }
+
+    // Visibility and text of the output box in one round trip: the script locates it by the outputBox locator
+    public ElementSnapshot getOutputSnapshot() {
+        return waitForVisibleSnapshot(TextBoxPage_Bindings.OUTPUT_BOX);
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.utils.DriverFactory;
+import com.automation.demo.ui.utils.LoggerUtil;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares 'browser.isolation=process' (one browser per thread) with 'browser.isolation=context'
+ * (BiDi user contexts in shared host browsers) at 5, 10 and 20 concurrent threads.
+ * Reports peak RSS of all browser/driver processes started by this JVM and page-workload throughput.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class BrowserIsolationBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(BrowserIsolationBenchmark.class);
+    private static final String FIXTURE_PAGE = "data:text/html,<h1 id='title'>Benchmark</h1><input id='name'>";
+    private static final int ITERATIONS_PER_THREAD = 20;
+
+    private final List<String> results = new ArrayList<>();
+
+    @DataProvider(name = "isolationModes")
+    public Object[][] isolationModes() {
+        // Process mode first: context-mode host browsers stay alive until the JVM exits
+        return new Object[][] {
+            {"process", 5}, {"process", 10}, {"process", 20},
+            {"context", 5}, {"context", 10}, {"context", 20}
+        };
+    }
+
+    @Test(dataProvider = "isolationModes")
+    public void measureIsolationMode(String isolationMode, int threads) throws Exception {
+        String previousMode = System.getProperty("browser.isolation");
+        System.setProperty("browser.isolation", isolationMode);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        RssSampler sampler = new RssSampler();
+        try {
+            sampler.start();
+            long start = System.nanoTime();
+            List<Future<Integer>> completed = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                completed.add(workers.submit(this::runWorkload));
+            }
+            int iterations = 0;
+            for (Future<Integer> future : completed) {
+                iterations += future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            String result = String.format("mode=%-7s threads=%2d iterations=%4d wall=%6.1fs throughput=%6.2f pages/s peakRss=%6d MB",
+                    isolationMode, threads, iterations, seconds, iterations / seconds, sampler.stop() / 1024);
+            results.add(result);
+            logger.info(result);
+            Assert.assertEquals(iterations, threads * ITERATIONS_PER_THREAD, "Not every workload iteration completed.");
+        } finally {
+            sampler.stop();
+            workers.shutdownNow();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+            if (previousMode == null) {
+                System.clearProperty("browser.isolation");
+            } else {
+                System.setProperty("browser.isolation", previousMode);
+            }
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void logSummary() {
+        logger.info("---------- Browser isolation benchmark ----------");
+        results.forEach(logger::info);
+    }
+
+    private int runWorkload() throws Exception {
+        WebDriver driver = DriverFactory.createDriver();
+        try {
+            for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                driver.get(FIXTURE_PAGE);
+                driver.findElement(By.id("name")).sendKeys("iteration " + i);
+                Assert.assertEquals(driver.findElement(By.id("title")).getText(), "Benchmark");
+            }
+            return ITERATIONS_PER_THREAD;
+        } finally {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Samples the summed resident set size of every process descended from this JVM (Linux /proc only).
+     */
+    private static class RssSampler {
+        private final AtomicLong peakKb = new AtomicLong();
+        private Thread thread;
+
+        private void start() {
+            thread = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakKb.accumulateAndGet(currentRssKb(), Math::max);
+                    try {
+                        Thread.sleep(250);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "rss-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private long stop() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+            return peakKb.get();
+        }
+
+        private static long currentRssKb() {
+            return ProcessHandle.current().descendants()
+                    .mapToLong(process -> readRssKb(process.pid()))
+                    .sum();
+        }
+
+        private static long readRssKb(long pid) {
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+            } catch (Exception e) {
+                // Process exited between listing and reading, or no /proc on this OS
+            }
+            return 0L;
+        }
+    }
+}
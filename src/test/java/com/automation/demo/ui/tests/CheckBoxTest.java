@@ -5,6 +5,7 @@ package com.automation.demo.ui.tests;
 import com.automation.demo.ui.base.BaseTest;
 import com.automation.demo.ui.pageobjects.CheckBoxPage;
 import com.automation.demo.ui.utils.DriverManager;
+import com.automation.demo.ui.utils.StartUrl;
 
 import io.qameta.allure.Story;
 
@@ -14,10 +15,10 @@ import org.testng.annotations.Test;
 public class CheckBoxTest extends BaseTest {
     @Story("CheckBox Selection Test")
     @Test(groups = {"smoke", "regression"})
+    @StartUrl(page = CheckBoxPage.class)
     public void testCheckBox() {
         try {
-            // Open URL
-            DriverManager.getDriver().get("https://demoqa.com/checkbox");
+            // URL is opened by BaseTest from @StartUrl
             System.out.println("Navigated to: " + DriverManager.getDriver().getCurrentUrl());
            // WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(5));
 
@@ -0,0 +1,119 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.pageobjects.BasePage;
+import com.automation.demo.ui.utils.DriverFactory;
+import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.WaitEngine.WaitMode;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Compares the previous WebDriverWait/ExpectedConditions wait (500 ms polling), the WaitEngine
+ * polling wait and the MutationObserver wait on a local fixture page whose element becomes
+ * visible after a random delay. Reports WebDriver round trips per wait and the time each wait
+ * returned after the element became visible.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class DomWaitBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(DomWaitBenchmark.class);
+    private static final int ITERATIONS = 30;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final List<String> results = new ArrayList<>();
+    private WebDriver rawDriver;
+    private WebDriver driver;
+    private FixturePage page;
+
+    @BeforeClass
+    public void openFixture() throws Exception {
+        rawDriver = DriverFactory.createDriver();
+        driver = new EventFiringDecorator<>(new WebDriverListener() {
+            @Override
+            public void beforeAnyCall(Object target, Method method, Object[] args) {
+                roundTrips.incrementAndGet();
+            }
+        }).decorate(rawDriver);
+        driver.get(getClass().getResource("/fixtures/dom-wait.html").toURI().toString());
+        page = new FixturePage(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeFixture() {
+        if (rawDriver != null) {
+            rawDriver.quit();
+        }
+        logger.info("---------- DOM wait benchmark ({} waits per mode) ----------", ITERATIONS);
+        results.forEach(logger::info);
+    }
+
+    @Test
+    public void webDriverWaitWithExpectedConditions() {
+        WebDriverWait legacyWait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        measure("ExpectedConditions 500 ms", target -> legacyWait.until(ExpectedConditions.visibilityOf(target)));
+    }
+
+    @Test
+    public void waitEnginePolling() {
+        measure("WaitEngine poll", target -> page.visible(target, WaitMode.POLL));
+    }
+
+    @Test
+    public void mutationObserver() {
+        measure("MutationObserver", target -> page.visible(target, WaitMode.OBSERVER));
+    }
+
+    private void measure(String label, Function<WebElement, WebElement> waitForVisible) {
+        Random random = new Random(42); // Same delays for every mode
+        WebElement target = driver.findElement(By.id("target"));
+        long totalCalls = 0;
+        long totalLagMillis = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long delay = 100 + random.nextInt(900);
+            ((JavascriptExecutor) driver).executeScript("window.scheduleReveal(arguments[0]);", delay);
+            long waitStart = System.nanoTime();
+            roundTrips.set(0);
+            Assert.assertNotNull(waitForVisible.apply(target));
+            totalCalls += roundTrips.get();
+            totalLagMillis += Math.max(0, (System.nanoTime() - waitStart) / 1_000_000 - delay);
+        }
+        String result = String.format("%-26s round trips/wait=%5.1f  lag after visible=%6.1f ms  wall=%6.1f s",
+                label, (double) totalCalls / ITERATIONS, (double) totalLagMillis / ITERATIONS, (System.nanoTime() - start) / 1_000_000_000.0);
+        results.add(result);
+        logger.info(result);
+    }
+
+    /**
+     * Exposes the BasePage waits for the fixture page.
+     */
+    private static class FixturePage extends BasePage {
+        private FixturePage(WebDriver driver) {
+            super(driver);
+        }
+
+        private WebElement visible(WebElement element, WaitMode mode) {
+            return waitForElementVisible(element, mode);
+        }
+    }
+}
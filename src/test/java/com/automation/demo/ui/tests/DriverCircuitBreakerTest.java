@@ -0,0 +1,107 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.utils.DriverCircuitBreaker;
+import com.automation.demo.ui.utils.DriverCircuitBreaker.State;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exercises the DriverCircuitBreaker state machine with stub driver creations, no browser needed.
+ */
+public class DriverCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 200;
+
+    private final AtomicInteger creations = new AtomicInteger();
+    private DriverCircuitBreaker breaker;
+
+    @BeforeMethod
+    public void createBreaker() {
+        breaker = new DriverCircuitBreaker(true, 3, OPEN_MILLIS);
+        creations.set(0);
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailuresAndSkipsWithTheRootCause() throws Exception {
+        failTimes(2);
+        Assert.assertEquals(breaker.getState(), State.CLOSED, "Circuit opened below the failure threshold.");
+        failTimes(1);
+        Assert.assertEquals(breaker.getState(), State.OPEN);
+        Assert.assertTrue(breaker.isOpen());
+
+        SkipException skip = Assert.expectThrows(SkipException.class, () -> breaker.create(succeeding()));
+        Assert.assertEquals(creations.get(), 3, "An open circuit must not attempt the creation.");
+        Assert.assertTrue(skip.getMessage().contains("after 3 consecutive failure(s)"), skip.getMessage());
+        Assert.assertTrue(skip.getMessage().contains("IllegalStateException: chromedriver not found"), skip.getMessage());
+        Assert.assertTrue(skip.getCause() instanceof SessionNotCreatedException, "Skip does not carry the last failure.");
+    }
+
+    @Test
+    public void successResetsTheFailureCount() throws Exception {
+        failTimes(2);
+        breaker.create(succeeding());
+        failTimes(2);
+        Assert.assertEquals(breaker.getState(), State.CLOSED);
+    }
+
+    @Test
+    public void successfulHalfOpenProbeClosesTheCircuit() throws Exception {
+        failTimes(3);
+        Thread.sleep(OPEN_MILLIS + 50);
+
+        Assert.assertNotNull(breaker.create(() -> {
+            Assert.assertEquals(breaker.getState(), State.HALF_OPEN, "Probe did not run half-open.");
+            return succeeding().call();
+        }));
+        Assert.assertEquals(breaker.getState(), State.CLOSED);
+        Assert.assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    public void failedHalfOpenProbeReopensTheCircuit() throws Exception {
+        failTimes(3);
+        Thread.sleep(OPEN_MILLIS + 50);
+
+        failTimes(1);
+        Assert.assertEquals(breaker.getState(), State.OPEN);
+        Assert.assertThrows(SkipException.class, () -> breaker.create(succeeding()));
+        Assert.assertEquals(creations.get(), 4, "The reopened circuit let a creation through.");
+    }
+
+    @Test
+    public void disabledBreakerNeverSkips() throws Exception {
+        breaker = new DriverCircuitBreaker(false, 1, OPEN_MILLIS);
+        failTimes(3);
+        Assert.assertEquals(breaker.getState(), State.CLOSED);
+        Assert.assertNotNull(breaker.create(succeeding()));
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            Assert.assertThrows(SessionNotCreatedException.class, () -> breaker.create(() -> {
+                creations.incrementAndGet();
+                throw new SessionNotCreatedException("Could not start a new session",
+                        new IllegalStateException("chromedriver not found"));
+            }));
+        }
+    }
+
+    private Callable<WebDriver> succeeding() {
+        return () -> {
+            creations.incrementAndGet();
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                    (proxy, method, args) -> {
+                        throw new UnsupportedOperationException("Stub driver: " + method.getName());
+                    });
+        };
+    }
+}
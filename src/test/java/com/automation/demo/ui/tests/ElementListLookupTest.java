@@ -0,0 +1,104 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.utils.BoundElement;
+import com.automation.demo.ui.utils.CachingElementLocatorFactory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Element lists of page objects must see elements rendered after their first lookup (XHR or SPA
+ * content), both for generated bindings and for CachingElementLocatorFactory fields. Runs against
+ * a stub driver, no browser needed.
+ */
+public class ElementListLookupTest {
+
+    private final List<WebElement> renderedItems = new CopyOnWriteArrayList<>();
+    private final AtomicInteger findElementsCalls = new AtomicInteger();
+    private WebDriver driver;
+
+    @BeforeMethod
+    public void createStubDriver() {
+        renderedItems.clear();
+        findElementsCalls.set(0);
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        case "toString": return "StubDriver";
+                        case "findElements":
+                            findElementsCalls.incrementAndGet();
+                            return new ArrayList<>(renderedItems);
+                        default: throw new UnsupportedOperationException("Stub driver: " + method.getName());
+                    }
+                });
+    }
+
+    @Test
+    public void boundListSeesElementsRenderedAfterTheFirstLookup() {
+        List<WebElement> items = BoundElement.listOf(driver, By.className("item"), "ListPage");
+        Assert.assertTrue(items.isEmpty());
+
+        render(3);
+        Assert.assertFalse(items.isEmpty(), "Empty list of the first lookup was returned again.");
+        Assert.assertEquals(items.size(), 3);
+        Assert.assertEquals(items.get(2).toString(), "item-2");
+
+        render(1);
+        Assert.assertEquals(items.size(), 4, "Partial list of an earlier lookup was returned again.");
+    }
+
+    @Test
+    public void boundListIterationLocatesOnce() {
+        render(5);
+        List<WebElement> items = BoundElement.listOf(driver, By.className("item"), "ListPage");
+        int before = findElementsCalls.get();
+        List<String> names = new ArrayList<>();
+        for (WebElement item : items) {
+            names.add(item.toString());
+        }
+        Assert.assertEquals(names, List.of("item-0", "item-1", "item-2", "item-3", "item-4"));
+        Assert.assertEquals(findElementsCalls.get() - before, 1);
+    }
+
+    @Test
+    public void factoryListFieldSeesElementsRenderedAfterTheFirstLookup() {
+        ListPage page = new ListPage();
+        CachingElementLocatorFactory.initElements(driver, page);
+        Assert.assertTrue(page.items.isEmpty());
+
+        render(2);
+        Assert.assertEquals(page.items.size(), 2, "Empty list of the first lookup was returned again.");
+    }
+
+    private void render(int count) {
+        int start = renderedItems.size();
+        for (int i = start; i < start + count; i++) {
+            String name = "item-" + i;
+            renderedItems.add((WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                    (proxy, method, args) -> {
+                        if ("toString".equals(method.getName())) {
+                            return name;
+                        }
+                        throw new UnsupportedOperationException("Stub element: " + method.getName());
+                    }));
+        }
+    }
+
+    public static class ListPage {
+        @FindBy(className = "item")
+        List<WebElement> items;
+    }
+}
@@ -0,0 +1,116 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.utils.GridCapacityScheduler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exercises GridCapacityScheduler against a local stub of the Grid /status endpoint.
+ */
+public class GridCapacitySchedulerTest {
+
+    private HttpServer stubGrid;
+    private volatile int freeChromeSlots;
+    private GridCapacityScheduler scheduler;
+
+    @BeforeMethod
+    public void startStubGrid() throws Exception {
+        stubGrid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubGrid.createContext("/status", exchange -> {
+            byte[] body = statusJson(freeChromeSlots, 3).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubGrid.start();
+        scheduler = new GridCapacityScheduler(URI.create("http://127.0.0.1:" + stubGrid.getAddress().getPort()), 50, 5000);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStubGrid() {
+        stubGrid.stop(0);
+    }
+
+    @Test
+    public void grantsOnlyAsManyRequestsAsFreeSlots() throws Exception {
+        freeChromeSlots = 2;
+        scheduler.acquire("chrome");
+        scheduler.acquire("chrome");
+
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> acquireUnchecked("chrome"));
+        Assert.assertThrows(TimeoutException.class, () -> third.get(300, TimeUnit.MILLISECONDS));
+
+        // One of the granted sessions ends, so the Grid frees its slot
+        freeChromeSlots = 3;
+        third.get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(scheduler.getGrantedRequests(), 3);
+        Assert.assertTrue(scheduler.getMaxWaitMillis() >= 300, "Queue wait of the third request was not recorded.");
+    }
+
+    @Test
+    public void releasedClaimsFreeTheSlotForTheNextRequest() throws Exception {
+        freeChromeSlots = 1;
+        scheduler.acquire("chrome");
+        scheduler.release("chrome"); // Session creation failed, so the Grid slot stays free
+        scheduler.acquire("chrome");
+        Assert.assertEquals(scheduler.getGrantedRequests(), 2);
+    }
+
+    @Test
+    public void ignoresSlotsOfOtherBrowsers() {
+        freeChromeSlots = 0;
+        GridCapacityScheduler shortTimeout = new GridCapacityScheduler(
+                URI.create("http://127.0.0.1:" + stubGrid.getAddress().getPort() + "/"), 50, 300);
+        Assert.assertThrows(IllegalStateException.class, () -> shortTimeout.acquire("chrome"));
+    }
+
+    @Test
+    public void matchesEdgeSlotsByTheirW3cName() throws Exception {
+        freeChromeSlots = 0;
+        GridCapacityScheduler shortTimeout = new GridCapacityScheduler(
+                URI.create("http://127.0.0.1:" + stubGrid.getAddress().getPort()), 50, 300);
+        // The stub advertises one free "MicrosoftEdge" slot; the 'browser' property says "edge"
+        shortTimeout.acquire("edge");
+        Assert.assertThrows(IllegalStateException.class, () -> shortTimeout.acquire("MicrosoftEdge"));
+        shortTimeout.release("MicrosoftEdge");
+        shortTimeout.acquire("MicrosoftEdge");
+        Assert.assertEquals(shortTimeout.getGrantedRequests(), 2);
+    }
+
+    private void acquireUnchecked(String browser) {
+        try {
+            scheduler.acquire(browser);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String statusJson(int freeChromeSlots, int freeFirefoxSlots) {
+        StringBuilder slots = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            String session = i < freeChromeSlots ? "null" : "{\"sessionId\": \"busy-" + i + "\"}";
+            slots.append(slots.length() == 0 ? "" : ",")
+                 .append("{\"session\": ").append(session).append(", \"stereotype\": {\"browserName\": \"chrome\"}}");
+        }
+        for (int i = 0; i < freeFirefoxSlots; i++) {
+            slots.append(",{\"session\": null, \"stereotype\": {\"browserName\": \"firefox\"}}");
+        }
+        slots.append(",{\"session\": null, \"stereotype\": {\"browserName\": \"MicrosoftEdge\"}}");
+        return "{\"value\": {\"ready\": true, \"nodes\": [{\"availability\": \"UP\", \"slots\": [" + slots + "]}]}}";
+    }
+}
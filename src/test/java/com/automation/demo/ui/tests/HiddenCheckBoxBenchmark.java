@@ -0,0 +1,81 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.pageobjects.BasePage;
+import com.automation.demo.ui.utils.ActionabilityCheck;
+import com.automation.demo.ui.utils.DriverFactory;
+import com.automation.demo.ui.utils.LoggerUtil;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Clicks check boxes whose input is hidden (display: none), as in the demoqa check box tree, on a
+ * local fixture page: one behind a visible label, one without a label. Both must be clicked after
+ * the hidden grace period ('click.hidden.grace.ms') instead of failing after the click timeout.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class HiddenCheckBoxBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(HiddenCheckBoxBenchmark.class);
+
+    private WebDriver driver;
+
+    @BeforeClass
+    public void openFixture() throws Exception {
+        driver = DriverFactory.createDriver();
+        driver.get(getClass().getResource("/fixtures/hidden-checkbox.html").toURI().toString());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeFixture() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void hiddenInputsAreClickedBeforeTheTimeout() {
+        FixturePage page = new FixturePage(driver);
+
+        long start = System.nanoTime();
+        page.click(By.id("tree-node-home"));
+        long labelMillis = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertEquals(page.getResult(), "You have selected: home");
+
+        start = System.nanoTime();
+        page.click(By.id("tree-node-orphan"));
+        long scriptMillis = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertEquals(page.getResult(), "You have selected: home orphan");
+
+        logger.info("---------- Hidden check box benchmark ----------");
+        logger.info("Hidden input behind a label clicked in {} ms, without a label in {} ms (click timeout {} ms)",
+                labelMillis, scriptMillis, FixturePage.TIMEOUT_SECONDS * 1000);
+        logger.info("Click decisions: {}", ActionabilityCheck.getStats());
+        Assert.assertTrue(labelMillis < FixturePage.TIMEOUT_SECONDS * 1000L, "Label click took " + labelMillis + " ms");
+        Assert.assertTrue(scriptMillis < FixturePage.TIMEOUT_SECONDS * 1000L, "JavaScript click took " + scriptMillis + " ms");
+    }
+
+    /**
+     * A page object clicking the fixture's check boxes like CheckBoxPage does.
+     */
+    private static class FixturePage extends BasePage {
+        private static final int TIMEOUT_SECONDS = 10;
+
+        private FixturePage(WebDriver driver) {
+            super(driver);
+        }
+
+        private void click(By locator) {
+            clickElementRobustly(locator);
+        }
+
+        private String getResult() {
+            return driver.findElement(By.id("result")).getText();
+        }
+    }
+}
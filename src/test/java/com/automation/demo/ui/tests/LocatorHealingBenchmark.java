@@ -0,0 +1,94 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.pageobjects.BasePage;
+import com.automation.demo.ui.utils.CachingElementLocatorFactory;
+import com.automation.demo.ui.utils.DriverFactory;
+import com.automation.demo.ui.utils.LocatorHealer;
+import com.automation.demo.ui.utils.LoggerUtil;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Breaks the @FindBy locator of a page object on a local fixture page (the ids of a check box
+ * tree are renamed, as by a UI release) and measures how long the page object takes to find its
+ * element again through locator healing, against the explicit wait timeout it would otherwise
+ * burn before failing.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class LocatorHealingBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(LocatorHealingBenchmark.class);
+
+    private WebDriver driver;
+
+    @BeforeClass
+    public void openFixture() throws Exception {
+        driver = DriverFactory.createDriver();
+        driver.get(getClass().getResource("/fixtures/locator-healing.html").toURI().toString());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeFixture() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void renamedIdIsHealedBeforeTheTimeout() {
+        Assert.assertTrue(LocatorHealer.isEnabled(), "locator.healing.enabled must be true for this benchmark");
+        FixturePage page = new FixturePage(driver);
+        // A successful lookup records the fingerprint of the element
+        page.selectHome();
+        Assert.assertEquals(page.getResult(), "You have selected: Home");
+
+        ((JavascriptExecutor) driver).executeScript("window.renameNodes();");
+        CachingElementLocatorFactory.invalidate(driver);
+
+        long start = System.nanoTime();
+        page.selectHome();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("---------- Locator healing benchmark ----------");
+        logger.info("Click with broken locator resolved in {} ms (explicit wait timeout {} ms)", millis, FixturePage.TIMEOUT_SECONDS * 1000);
+        logger.info("Healed: {}", LocatorHealer.getInstance().getHealedLocators());
+
+        Assert.assertEquals(page.getResult(), "You have selected: Home");
+        Assert.assertTrue(millis < FixturePage.TIMEOUT_SECONDS * 1000L, "Healing took " + millis + " ms");
+        String healed = LocatorHealer.getInstance().getHealedLocators().get("FixturePage|By.id: tree-node-home");
+        Assert.assertTrue(healed != null && healed.startsWith("By.cssSelector: #tree-item-home "), "Healed locator: " + healed);
+    }
+
+    /**
+     * A page object whose @FindBy locators are cached (and healed) like the application's page objects.
+     */
+    private static class FixturePage extends BasePage {
+        private static final int TIMEOUT_SECONDS = 10;
+
+        @FindBy(id = "tree-node-home")
+        private WebElement homeNode;
+
+        @FindBy(id = "result")
+        private WebElement result;
+
+        private FixturePage(WebDriver driver) {
+            super(driver);
+            CachingElementLocatorFactory.initElements(driver, this);
+        }
+
+        private void selectHome() {
+            clickElement(homeNode, TIMEOUT_SECONDS);
+        }
+
+        private String getResult() {
+            return waitForElementVisible(result).getText();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.pageobjects.TextBoxPage;
+import com.automation.demo.ui.pageobjects.TextBoxPage_Bindings;
+import com.automation.demo.ui.utils.CachingElementLocatorFactory;
+import com.automation.demo.ui.utils.LoggerUtil;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compares the cost of binding the @FindBy fields of a TextBoxPage: reflective PageFactory
+ * proxies, the caching PageFactory decorator and the generated TextBoxPage_Bindings (binding is
+ * the part of page construction that differs). Reports time and heap allocation per binding.
+ * Binding never touches the browser, so this runs against a stub driver without a browser.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class PageBindingBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(PageBindingBenchmark.class);
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Map<String, Long> bytesPerBinding = new LinkedHashMap<>();
+    private final List<String> results = new ArrayList<>();
+    private WebDriver driver;
+    private TextBoxPage page;
+
+    @BeforeClass
+    public void createStubDriver() {
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        case "toString": return "StubDriver";
+                        default: throw new UnsupportedOperationException("Binding must not call the driver: " + method.getName());
+                    }
+                });
+        page = new TextBoxPage(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void report() {
+        logger.info("---------- Page binding benchmark ({} bindings per variant) ----------", ITERATIONS);
+        results.forEach(logger::info);
+    }
+
+    @Test
+    public void reflectivePageFactory() {
+        measure("PageFactory proxies", p -> PageFactory.initElements(driver, p));
+    }
+
+    @Test
+    public void cachingPageFactory() {
+        measure("Caching PageFactory", p -> CachingElementLocatorFactory.initElements(driver, p));
+    }
+
+    @Test
+    public void generatedBindings() {
+        measure("Generated bindings", p -> TextBoxPage_Bindings.bind(p, driver));
+    }
+
+    @Test(dependsOnMethods = {"reflectivePageFactory", "generatedBindings"})
+    public void generatedBindingsAllocateLess() {
+        Assert.assertTrue(bytesPerBinding.get("Generated bindings") < bytesPerBinding.get("PageFactory proxies"),
+                "Generated bindings should allocate less than PageFactory: " + bytesPerBinding);
+    }
+
+    private void measure(String label, Consumer<TextBoxPage> bind) {
+        for (int i = 0; i < WARMUP; i++) {
+            bind.accept(page);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bind.accept(page);
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - bytesBefore) / ITERATIONS;
+        bytesPerBinding.put(label, bytes);
+        String result = String.format("%-28s %8.0f ns/binding  %6d bytes/binding", label, (double) nanos / ITERATIONS, bytes);
+        results.add(result);
+        logger.info(result);
+    }
+}
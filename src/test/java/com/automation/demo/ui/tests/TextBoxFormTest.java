@@ -7,6 +7,7 @@ import com.automation.demo.ui.base.BaseTest;
 import com.automation.demo.ui.data.TestDataProviders;
 import com.automation.demo.ui.pageobjects.TextBoxPage;
 import com.automation.demo.ui.utils.DriverManager;
+import com.automation.demo.ui.utils.StartUrl;
 import java.time.Duration;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -14,10 +15,10 @@ import org.testng.annotations.Test;
 public class TextBoxFormTest extends BaseTest {
 
     @Test(dataProvider = "formData", dataProviderClass = TestDataProviders.class, groups = {"smoke", "regression"})
+    @StartUrl(page = TextBoxPage.class)
     public void testTextBoxForm(String fullName, String email, String currentAddress, String permanentAddress) {
         try {
-            // Open URL
-            DriverManager.getDriver().get("https://demoqa.com/text-box");
+            // URL is opened by BaseTest from @StartUrl
             System.out.println("Navigated to: " + DriverManager.getDriver().getCurrentUrl());
             WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(5));
 
@@ -44,6 +45,19 @@ public class TextBoxFormTest extends BaseTest {
             throw new RuntimeException("Test failed due to exception", e); // Re-throw to make TestNG fail the test
         }
     }
+
+    @Test(dataProvider = "formDataSample", dataProviderClass = TestDataProviders.class, groups = {"smoke", "regression"})
+    @StartUrl(page = TextBoxPage.class)
+    public void testTextBoxFormInOneRoundTrip(String fullName, String email, String currentAddress, String permanentAddress) {
+        // URL is opened by BaseTest from @StartUrl
+        TextBoxPage page = new TextBoxPage(DriverManager.getDriver());
+
+        // Fill all fields and submit in one round trip
+        page.submitForm(fullName, email, currentAddress, permanentAddress);
+
+        String output = page.getOutputText();
+        Assert.assertTrue(output.contains(fullName), "Full name not found in output");
+        Assert.assertTrue(output.contains(email), "Email not found in output");
+    }
 }
     
-    
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.automation.demo.ui.tests;
+
+import com.automation.demo.ui.pageobjects.BasePage;
+import com.automation.demo.ui.utils.DriverFactory;
+import com.automation.demo.ui.utils.LoggerUtil;
+import com.automation.demo.ui.utils.TextEntry;
+import com.automation.demo.ui.utils.TextEntry.TextEntryMode;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares typing (clear + sendKeys) with fast text entry for 1 KB and 10 KB values on a local
+ * fixture page, and checks that fast entry is kept by a framework-controlled field and falls back
+ * to typing on a field that only accepts key events.
+ * Run with: mvn test -Pbenchmarks
+ */
+public class TextEntryBenchmark {
+
+    private static final Logger logger = LoggerUtil.getLogger(TextEntryBenchmark.class);
+    private static final String SAMPLE = "The quick brown fox jumps over the lazy dog 0123456789. ";
+
+    private final List<String> results = new ArrayList<>();
+    private WebDriver driver;
+    private FixturePage page;
+
+    @BeforeClass
+    public void openFixture() throws Exception {
+        driver = DriverFactory.createDriver();
+        driver.get(getClass().getResource("/fixtures/text-entry.html").toURI().toString());
+        page = new FixturePage(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeFixture() {
+        if (driver != null) {
+            driver.quit();
+        }
+        logger.info("---------- Text entry benchmark ----------");
+        results.forEach(logger::info);
+    }
+
+    @DataProvider
+    public Object[][] sizes() {
+        return new Object[][]{{1024, TextEntryMode.TYPE}, {1024, TextEntryMode.FAST}, {10 * 1024, TextEntryMode.TYPE}, {10 * 1024, TextEntryMode.FAST}};
+    }
+
+    @Test(dataProvider = "sizes")
+    public void enterIntoPlainField(int size, TextEntryMode mode) {
+        Assert.assertEquals(measure("plain", text(size), mode), mode);
+    }
+
+    @Test
+    public void fastEntryIsKeptByControlledField() {
+        Assert.assertEquals(measure("controlled", text(10 * 1024), TextEntryMode.FAST), TextEntryMode.FAST);
+    }
+
+    @Test
+    public void fastEntryFallsBackToTypingOnKeyOnlyField() {
+        Assert.assertEquals(measure("keys-only", text(1024), TextEntryMode.FAST), TextEntryMode.TYPE);
+    }
+
+    private TextEntryMode measure(String fieldId, String text, TextEntryMode mode) {
+        WebElement field = driver.findElement(By.id(fieldId));
+        long start = System.nanoTime();
+        TextEntryMode used = page.enter(field, text, mode);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertEquals(field.getDomProperty("value"), text, "Value of #" + fieldId + " after " + mode + " entry");
+        String result = String.format("%-10s %6d chars  requested=%-4s used=%-4s %7d ms", fieldId, text.length(), mode, used, millis);
+        results.add(result);
+        logger.info(result);
+        return used;
+    }
+
+    private static String text(int size) {
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            text.append(SAMPLE);
+        }
+        return text.substring(0, size);
+    }
+
+    /**
+     * Enters text the way page objects do (visibility wait + TextEntry).
+     */
+    private static class FixturePage extends BasePage {
+        private FixturePage(WebDriver driver) {
+            super(driver);
+        }
+
+        private TextEntryMode enter(WebElement element, String text, TextEntryMode mode) {
+            return TextEntry.enter(driver, waitForElementVisible(element), text, mode);
+        }
+    }
+}
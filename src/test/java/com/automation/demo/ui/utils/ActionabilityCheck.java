@@ -0,0 +1,278 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides how to click an element from one script call instead of waiting out a timeout: the
+ * script checks that the element is attached, visible and enabled, scrolls it to the centre of the
+ * viewport if needed, compares its bounding box across two animation frames and hit-tests its
+ * centre with elementFromPoint. An actionable element gets a native click; an element covered by
+ * another one (ad overlays, sticky banners) gets a JavaScript click right away; an element that
+ * is still moving is re-checked for up to 'click.stability.timeout.ms'; a missing or disabled
+ * element is waited for with the caller's timeout. An element that stays attached but hidden for
+ * 'click.hidden.grace.ms' (styled inputs such as check box trees hide the input behind its label)
+ * gets a native click on its visible label, or a JavaScript click. Every decision is counted by
+ * reason and logged at JVM shutdown.
+ */
+public class ActionabilityCheck {
+
+    private static final Logger logger = LoggerUtil.getLogger(ActionabilityCheck.class);
+
+    /**
+     * Result of a check. NOT_FOUND and DISABLED may resolve while the page loads, NOT_VISIBLE within
+     * the hidden grace period; UNSTABLE while an animation finishes.
+     */
+    public enum Verdict {
+        ACTIONABLE, OBSCURED, UNSTABLE, NOT_FOUND, NOT_VISIBLE, DISABLED;
+
+        private boolean isWaitable() {
+            return this == NOT_FOUND || this == DISABLED;
+        }
+    }
+
+    /**
+     * How an element was clicked.
+     */
+    public enum Interaction { NATIVE, SCROLL_NATIVE, LABEL, JAVASCRIPT }
+
+    private static final long stabilityTimeoutMillis = Long.parseLong(ConfigReader.getProperty("click.stability.timeout.ms", "500").trim());
+    private static final long hiddenGraceNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(ConfigReader.getProperty("click.hidden.grace.ms", "1000").trim()));
+
+    private static final Map<String, LongAdder> decisions = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ActionabilityCheck::logSummary, "actionability-summary"));
+    }
+
+    private static final String CHECK_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.IS_VISIBLE_FUNCTION
+            + "var callback = arguments[arguments.length - 1];"
+            + "var el = arguments[0] || (arguments[1] ? findByLocator(arguments[1], arguments[2]) : null);"
+            + "function describe(node) {"
+            + "  if (!node || !node.tagName) { return String(node); }"
+            + "  return node.tagName.toLowerCase() + (node.id ? '#' + node.id : '')"
+            + "      + (typeof node.className === 'string' && node.className.trim() ? '.' + node.className.trim().split(/\\s+/).join('.') : '');"
+            + "}"
+            + "function done(verdict, reason) { callback({ verdict: verdict, reason: reason, element: el, label: label, scrolled: scrolled }); }"
+            + "function nextFrame(fn) {"
+            + "  var called = false, once = function () { if (!called) { called = true; fn(); } };"
+            + "  requestAnimationFrame(once); setTimeout(once, 50);"
+            + "}"
+            + "var scrolled = false, label = null;"
+            + "if (!el || !el.isConnected) { el = null; done('NOT_FOUND', 'not attached to the document'); return; }"
+            + "if (!isVisible(el)) {"
+            + "  if (el.labels && el.labels.length && isVisible(el.labels[0])) { label = el.labels[0]; done('NOT_VISIBLE', 'hidden behind a visible label'); return; }"
+            + "  done('NOT_VISIBLE', 'not visible'); return;"
+            + "}"
+            + "if (el.disabled) { done('DISABLED', 'disabled'); return; }"
+            + "var r = el.getBoundingClientRect();"
+            + "if (r.top < 0 || r.left < 0 || r.bottom > window.innerHeight || r.right > window.innerWidth) {"
+            + "  el.scrollIntoView({ block: 'center', inline: 'center' }); scrolled = true;"
+            + "}"
+            + "nextFrame(function () {"
+            + "  var first = el.getBoundingClientRect();"
+            + "  nextFrame(function () {"
+            + "    var second = el.getBoundingClientRect();"
+            + "    if (first.top !== second.top || first.left !== second.left || first.width !== second.width || first.height !== second.height) {"
+            + "      done('UNSTABLE', 'moving between animation frames'); return;"
+            + "    }"
+            + "    var x = second.left + second.width / 2, y = second.top + second.height / 2;"
+            + "    var hit = document.elementFromPoint(x, y);"
+            + "    if (hit === el || el.contains(hit) || (hit && hit.control === el) || (el.labels && Array.prototype.indexOf.call(el.labels, hit) >= 0)) {"
+            + "      done('ACTIONABLE', 'receives the click'); return;"
+            + "    }"
+            + "    done('OBSCURED', 'covered by ' + describe(hit));"
+            + "  });"
+            + "});";
+
+    private ActionabilityCheck() {
+    }
+
+    /**
+     * Clicks the element the way its actionability allows.
+     *
+     * @param driver The driver.
+     * @param target A By locator or WebElement.
+     * @param timeoutSeconds How long to wait for a missing or disabled element.
+     * @param scope The page object the waiting is attributed to.
+     * @return How the element was clicked.
+     * @throws TimeoutException If the element isn't attached and enabled within the timeout.
+     */
+    public static Interaction click(WebDriver driver, Object target, int timeoutSeconds, String scope) {
+        long[] hiddenSince = new long[1];
+        CheckResult result;
+        try {
+            result = WaitEngine.forDriver(driver, timeoutSeconds).until(scope, d -> {
+                CheckResult current = check(d, target);
+                if (current.verdict != Verdict.NOT_VISIBLE) {
+                    hiddenSince[0] = 0;
+                    return current.verdict.isWaitable() ? null : current;
+                }
+                // Hidden elements may still be rendering; give them the grace period before the fallback
+                long now = System.nanoTime();
+                if (hiddenSince[0] == 0) {
+                    hiddenSince[0] = now;
+                }
+                return now - hiddenSince[0] >= hiddenGraceNanos ? current : null;
+            });
+        } catch (TimeoutException e) {
+            CheckResult last = check(driver, target);
+            if (last.verdict != Verdict.NOT_VISIBLE) {
+                record(last.verdict + ": " + last.reason);
+                throw new TimeoutException("Element " + target + " is not clickable after " + timeoutSeconds + " second(s): " + last.reason, e);
+            }
+            result = last;
+        }
+
+        long stableDeadline = System.currentTimeMillis() + stabilityTimeoutMillis;
+        while (result.verdict == Verdict.UNSTABLE && System.currentTimeMillis() < stableDeadline) {
+            // Each check already spans two animation frames, so no extra sleep is needed
+            result = check(driver, target);
+        }
+
+        if (result.verdict == Verdict.ACTIONABLE) {
+            try {
+                result.element.click();
+                record("native click" + (result.scrolled ? " after scroll" : ""));
+                return result.scrolled ? Interaction.SCROLL_NATIVE : Interaction.NATIVE;
+            } catch (ElementClickInterceptedException e) {
+                result = new CheckResult(Verdict.OBSCURED, "intercepted: " + e.getRawMessage(), result.element, null, result.scrolled);
+            }
+        }
+        return fallback(driver, target, result);
+    }
+
+    /**
+     * Clicks an element that a native click can't reach: the visible label of a hidden element,
+     * otherwise a JavaScript click on the element itself.
+     */
+    private static Interaction fallback(WebDriver driver, Object target, CheckResult result) {
+        if (result.label != null) {
+            try {
+                result.label.click();
+                record("label click: " + result.reason);
+                return Interaction.LABEL;
+            } catch (WebDriverException e) {
+                logger.debug("Label click on {} failed: {}", target, e.getMessage());
+            }
+        }
+        // OBSCURED, still UNSTABLE, or hidden: not clickable for a reason that waiting won't fix
+        logger.warn("Using JavaScript click on {}: {} ({}).", target, result.verdict, result.reason);
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", result.element);
+        record("javascript click: " + result.verdict + (result.verdict == Verdict.OBSCURED ? " " + result.reason : ""));
+        return Interaction.JAVASCRIPT;
+    }
+
+    /**
+     * Runs the in-page check once, without clicking.
+     *
+     * @param driver The driver.
+     * @param target A By locator or WebElement.
+     * @return The verdict and its reason.
+     */
+    @SuppressWarnings("unchecked")
+    public static CheckResult check(WebDriver driver, Object target) {
+        WebElement element = null;
+        String[] scriptLocator = null;
+        if (target instanceof By) {
+            scriptLocator = PageScripts.toScriptLocator((By) target);
+            if (scriptLocator == null) {
+                element = driver.findElements((By) target).stream().findFirst().orElse(null);
+                if (element == null) {
+                    return new CheckResult(Verdict.NOT_FOUND, "no element matches " + target, null, null, false);
+                }
+            }
+        } else if (target instanceof WebElement) {
+            element = (WebElement) target;
+        } else {
+            throw new IllegalArgumentException("Click targets must be By locators or WebElements, got: " + target);
+        }
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(CHECK_SCRIPT,
+                    element, scriptLocator == null ? null : scriptLocator[0], scriptLocator == null ? null : scriptLocator[1]);
+        } catch (StaleElementReferenceException e) {
+            // The page re-rendered: drop cached page object elements so the next check locates it again
+            CachingElementLocatorFactory.invalidate(driver);
+            return new CheckResult(Verdict.NOT_FOUND, "stale element reference", null, null, false);
+        }
+        return new CheckResult(Verdict.valueOf((String) result.get("verdict")), (String) result.get("reason"),
+                (WebElement) result.get("element"), (WebElement) result.get("label"), Boolean.TRUE.equals(result.get("scrolled")));
+    }
+
+    /**
+     * @return How often each click decision was taken, by decision and reason.
+     */
+    public static Map<String, Long> getStats() {
+        Map<String, Long> stats = new TreeMap<>();
+        decisions.forEach((reason, count) -> stats.put(reason, count.sum()));
+        return stats;
+    }
+
+    static void record(String decision) {
+        decisions.computeIfAbsent(decision, key -> new LongAdder()).increment();
+    }
+
+    private static void logSummary() {
+        if (decisions.isEmpty()) {
+            return;
+        }
+        logger.info("---------- Click decisions ----------");
+        getStats().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Long> entry) -> entry.getValue()).reversed())
+                .forEach(entry -> logger.info("{} x{}", entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Verdict of one check, with the element it was made for (null if not found) and, for a hidden
+     * element, its visible label.
+     */
+    public static class CheckResult {
+        private final Verdict verdict;
+        private final String reason;
+        private final WebElement element;
+        private final WebElement label;
+        private final boolean scrolled;
+
+        private CheckResult(Verdict verdict, String reason, WebElement element, WebElement label, boolean scrolled) {
+            this.verdict = verdict;
+            this.reason = reason;
+            this.element = element;
+            this.label = label;
+            this.scrolled = scrolled;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public boolean isScrolled() {
+            return scrolled;
+        }
+
+        @Override
+        public String toString() {
+            return verdict + " (" + reason + ")";
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Limits how many UI tests hold a browser at once and adjusts that limit during the run
+ * ('parallel.adaptive.*' properties). The suite's thread-count is only the ceiling: every
+ * 'parallel.adaptive.interval.ms' the controller samples the system load average, available physical
+ * memory and the command latency reported by session health checks, lowers the limit by one while
+ * any of them is over its threshold and raises it by one while all of them are comfortably below.
+ * Test threads above the current limit wait in {@link #acquire()} before their driver is created,
+ * and the DriverPool is capped at the limit so lowering it also quits the idle browsers above it.
+ */
+public class AdaptiveParallelismController {
+
+    private static final Logger logger = LoggerUtil.getLogger(AdaptiveParallelismController.class);
+    private static final AdaptiveParallelismController INSTANCE = new AdaptiveParallelismController();
+
+    private final boolean enabled = ConfigReader.getBooleanProperty("parallel.adaptive.enabled", true);
+    private final int minLimit = Math.max(1, Integer.parseInt(ConfigReader.getProperty("parallel.adaptive.min.threads", "1").trim()));
+    private final int initialLimit = Integer.parseInt(ConfigReader.getProperty("parallel.adaptive.initial.threads", "0").trim());
+    private final long intervalMillis = Long.parseLong(ConfigReader.getProperty("parallel.adaptive.interval.ms", "5000").trim());
+    private final double maxLoadPerCore = Double.parseDouble(ConfigReader.getProperty("parallel.adaptive.max.load.per.core", "1.5").trim());
+    private final long minFreeMemoryMb = Long.parseLong(ConfigReader.getProperty("parallel.adaptive.min.free.memory.mb", "1024").trim());
+    private final long maxCommandLatencyMillis = Long.parseLong(ConfigReader.getProperty("parallel.adaptive.max.command.latency.ms", "1000").trim());
+
+    private static final Path MEMINFO = Path.of("/proc/meminfo");
+
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final int cores = Runtime.getRuntime().availableProcessors();
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition permitFreed = lock.newCondition();
+    private final ThreadLocal<Boolean> holdsPermit = ThreadLocal.withInitial(() -> false);
+    private final LongAdder latencySamples = new LongAdder();
+    private final LongAdder latencyTotalMillis = new LongAdder();
+
+    private ScheduledExecutorService monitor;
+    private volatile boolean active;
+    private int maxLimit;
+    private int limit;
+    private int running;
+
+    private AdaptiveParallelismController() {
+    }
+
+    public static AdaptiveParallelismController getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts controlling concurrency for a suite at its full thread-count, unless
+     * 'parallel.adaptive.initial.threads' sets a lower starting limit.
+     *
+     * @param threadCount The suite's thread-count, used as the upper limit.
+     */
+    public void start(int threadCount) {
+        if (!enabled) {
+            logger.info("Adaptive parallelism disabled; running up to {} tests at once.", threadCount);
+            return;
+        }
+        int poolLimit;
+        lock.lock();
+        try {
+            maxLimit = Math.max(minLimit, threadCount);
+            int startLimit = initialLimit > 0 ? initialLimit : maxLimit;
+            limit = Math.max(minLimit, Math.min(maxLimit, startLimit));
+            poolLimit = limit;
+            active = true;
+        } finally {
+            lock.unlock();
+        }
+        limitDriverPool(poolLimit);
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "adaptive-parallelism-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::adjust, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Adaptive parallelism started: limit {} (min {}, max {}), {} cores, re-evaluated every {} ms.",
+                limit, minLimit, maxLimit, cores, intervalMillis);
+    }
+
+    /**
+     * Stops the monitor and lets every waiting test through.
+     */
+    public void stop() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+        lock.lock();
+        try {
+            active = false;
+            permitFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        limitDriverPool(0);
+    }
+
+    /**
+     * Blocks the calling test thread until fewer tests than the current limit are running.
+     * Does nothing when the controller is not active or the thread already holds a permit.
+     */
+    public void acquire() {
+        if (!active || holdsPermit.get()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.lock();
+        try {
+            while (active && running >= limit) {
+                permitFreed.await();
+            }
+            running++;
+            holdsPermit.set(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a test slot.", e);
+        } finally {
+            lock.unlock();
+        }
+        long waited = System.currentTimeMillis() - start;
+        if (waited > 0) {
+            logger.debug("Test slot granted to Thread {} after {} ms.", Thread.currentThread().threadId(), waited);
+        }
+    }
+
+    /**
+     * Frees the permit held by the calling test thread, if any.
+     */
+    public void release() {
+        if (!holdsPermit.get()) {
+            return;
+        }
+        holdsPermit.remove();
+        lock.lock();
+        try {
+            running--;
+            permitFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Feeds a command round-trip latency measured on an active session into the next adjustment.
+     *
+     * @param latencyMillis The measured latency.
+     */
+    public void recordCommandLatency(long latencyMillis) {
+        latencySamples.increment();
+        latencyTotalMillis.add(latencyMillis);
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust() {
+        try {
+            double loadPerCore = os.getSystemLoadAverage() < 0 ? -1 : os.getSystemLoadAverage() / cores;
+            long freeMemoryMb = freeMemoryMb();
+            long samples = latencySamples.sumThenReset();
+            long latencyMillis = samples == 0 ? -1 : latencyTotalMillis.sumThenReset() / samples;
+
+            List<String> pressure = new ArrayList<>();
+            if (loadPerCore > maxLoadPerCore) {
+                pressure.add(String.format("load/core %.2f > %.2f", loadPerCore, maxLoadPerCore));
+            }
+            if (freeMemoryMb >= 0 && freeMemoryMb < minFreeMemoryMb) {
+                pressure.add("free memory " + freeMemoryMb + " MB < " + minFreeMemoryMb + " MB");
+            }
+            if (latencyMillis > maxCommandLatencyMillis) {
+                pressure.add("command latency " + latencyMillis + " ms > " + maxCommandLatencyMillis + " ms");
+            }
+            // Only grow with headroom on every signal, so the limit doesn't flap around a threshold
+            boolean headroom = loadPerCore < maxLoadPerCore * 0.7
+                    && (freeMemoryMb < 0 || freeMemoryMb > minFreeMemoryMb * 2)
+                    && latencyMillis < maxCommandLatencyMillis / 2;
+
+            int previous;
+            int current;
+            lock.lock();
+            try {
+                previous = limit;
+                if (!pressure.isEmpty() && limit > minLimit) {
+                    limit--;
+                } else if (pressure.isEmpty() && headroom && limit < maxLimit && running >= limit) {
+                    limit++;
+                    permitFreed.signal();
+                }
+                if (limit != previous) {
+                    logger.info("Parallelism {} from {} to {} ({}; load/core {}, free memory {} MB, command latency {} ms, running {}).",
+                            limit > previous ? "raised" : "lowered", previous, limit,
+                            pressure.isEmpty() ? "headroom on all signals" : String.join(", ", pressure),
+                            String.format("%.2f", loadPerCore), freeMemoryMb, latencyMillis, running);
+                }
+                current = limit;
+            } finally {
+                lock.unlock();
+            }
+            if (current != previous) {
+                limitDriverPool(current);
+            }
+        } catch (Exception e) {
+            logger.warn("Adaptive parallelism adjustment failed: {}", e.getMessage());
+        }
+    }
+
+    private void limitDriverPool(int poolLimit) {
+        // Context mode doesn't pool sessions, so don't create the pool just to cap it
+        if (DriverManager.isPoolingEnabled()) {
+            DriverPool.getInstance().limitToParallelism(poolLimit);
+        }
+    }
+
+    /**
+     * @return Memory available for new processes in MB, or -1 if unknown. On Linux that is
+     * MemAvailable, which counts reclaimable page cache; the JDK's free memory is MemFree there,
+     * which stays low on any busy machine.
+     */
+    private long freeMemoryMb() {
+        if (Files.isReadable(MEMINFO)) {
+            try (Stream<String> lines = Files.lines(MEMINFO)) {
+                Optional<String> available = lines.filter(line -> line.startsWith("MemAvailable:")).findFirst();
+                if (available.isPresent()) {
+                    // "MemAvailable:   12345678 kB"
+                    return Long.parseLong(available.get().replaceAll("\\D", "")) / 1024;
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.debug("Could not read MemAvailable from {}: {}", MEMINFO, e.getMessage());
+            }
+        }
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.automation.demo.ui.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+// This class implements ISuiteListener to run the AdaptiveParallelismController for the duration of a suite
+public class AdaptiveParallelismListener implements ISuiteListener {
+
+    /**
+     * Called when the suite starts.
+     * Starts the controller with the suite's thread-count as the upper limit of concurrently running UI tests.
+     * @param suite The TestNG suite.
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        AdaptiveParallelismController.getInstance().start(suite.getXmlSuite().getThreadCount());
+    }
+
+    /**
+     * Called when the suite finishes.
+     * Stops the controller's monitor and releases any waiting threads.
+     * @param suite The TestNG suite.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        AdaptiveParallelismController.getInstance().stop();
+    }
+}
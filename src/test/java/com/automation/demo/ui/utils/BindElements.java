@@ -0,0 +1,19 @@
+package com.automation.demo.ui.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page object whose @FindBy fields are bound by generated code instead of PageFactory.
+ * At compile time PageBindingProcessor validates the locators and generates a
+ * {@code <Page>_Bindings} class next to the page; the constructor calls
+ * {@code <Page>_Bindings.bind(this, driver)}, which assigns each field a BoundElement without
+ * reflection or dynamic proxies. Bound fields must not be private, final or static, and must be
+ * WebElement or List&lt;WebElement&gt;; @FindBys and @FindAll are not supported.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface BindElements {
+}
@@ -0,0 +1,212 @@
+package com.automation.demo.ui.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Element field of a page object bound by the generated *_Bindings class of the page (see
+ * {@link BindElements}) instead of a PageFactory proxy. A plain class delegating to the element
+ * located by a CachingElementLocatorFactory locator, so it shares the cache, its invalidation and
+ * hit/miss statistics, and retries a call once when the cached element went stale.
+ */
+public final class BoundElement implements WebElement, WrapsElement, Locatable {
+
+    private final CachingElementLocatorFactory.CachingElementLocator locator;
+
+    private BoundElement(CachingElementLocatorFactory.CachingElementLocator locator) {
+        this.locator = locator;
+    }
+
+    /**
+     * @param driver The driver the page runs on.
+     * @param by The locator of the field.
+     * @param pageName The page object the lookups are counted against.
+     * @return An element located lazily on first use.
+     */
+    public static WebElement of(WebDriver driver, By by, String pageName) {
+        return new BoundElement(CachingElementLocatorFactory.locator(driver, by, pageName));
+    }
+
+    /**
+     * @return A list of the elements matching the locator, located again on each access to the list
+     * like a PageFactory list, so elements rendered after the first access show up. An iteration
+     * (for-each, stream) locates them once.
+     */
+    public static List<WebElement> listOf(WebDriver driver, By by, String pageName) {
+        CachingElementLocatorFactory.CachingElementLocator locator = CachingElementLocatorFactory.locator(driver, by, pageName);
+        return new AbstractList<>() {
+            @Override
+            public WebElement get(int index) {
+                return locator.findElements().get(index);
+            }
+
+            @Override
+            public int size() {
+                return locator.findElements().size();
+            }
+
+            @Override
+            public Iterator<WebElement> iterator() {
+                return Collections.unmodifiableList(locator.findElements()).iterator();
+            }
+        };
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(locator.findElement());
+        } catch (StaleElementReferenceException e) {
+            locator.stale();
+            return action.apply(locator.findElement());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return locator.findElement();
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+
+    @Override
+    public String toString() {
+        return "Bound element for: " + locator;
+    }
+}
@@ -0,0 +1,248 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.browsingcontext.ReadinessState;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs many isolated tests inside a few browser processes ('browser.isolation=context').
+ * Up to 'browser.context.hosts' browsers are started with WebDriver BiDi enabled, and every
+ * driver handed out is a BiDi user context (separate cookies and storage) with its own tab
+ * inside one of them. Page loads (get, navigate, refresh, back, forward) go through BiDi to the
+ * context's own browsing context without locking, so the pages of tests sharing a host load and
+ * run concurrently. Every other command runs against the classic session's current window, so it
+ * is routed to the right tab by switching the host session to it under a per-host lock held for
+ * that one command: tests sharing a host interleave their commands (waits poll outside the lock),
+ * while a long command such as an asynchronous script still holds the host until it returns.
+ * Quitting a context driver removes only its user context. Frame selections do not survive another
+ * test's command on the same host. A new host is launched outside the lock that assigns hosts, so
+ * tests placed on a running host are not held up by its start.
+ */
+public class BrowserContextHosts {
+
+    private static final Logger logger = LoggerUtil.getLogger(BrowserContextHosts.class);
+    private static final BrowserContextHosts INSTANCE = new BrowserContextHosts();
+
+    private final List<HostBrowser> hosts = new ArrayList<>();
+
+    private BrowserContextHosts() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-context-hosts-shutdown"));
+    }
+
+    public static BrowserContextHosts getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true when 'browser.isolation' selects one BiDi user context per test instead of one browser per test.
+     */
+    public static boolean isContextMode() {
+        return "context".equalsIgnoreCase(ConfigReader.getProperty("browser.isolation", "process"));
+    }
+
+    /**
+     * Opens a new isolated user context on the least loaded host browser, starting a new host
+     * while fewer than 'browser.context.hosts' are running.
+     *
+     * @return A WebDriver bound to the new context's tab.
+     * @throws Exception If a host browser cannot be created.
+     */
+    public WebDriver newContextDriver() throws Exception {
+        int maxHosts = Integer.parseInt(ConfigReader.getProperty("browser.context.hosts", "2").trim());
+        HostBrowser host;
+        boolean launch;
+        synchronized (this) {
+            // Reserve the slot before launching, so concurrent callers spread over the other hosts
+            host = hosts.stream().min(Comparator.comparingInt(candidate -> candidate.openContexts.get())).orElse(null);
+            launch = host == null || (host.openContexts.get() > 0 && hosts.size() < maxHosts);
+            if (launch) {
+                host = new HostBrowser(hosts.size() + 1);
+                hosts.add(host);
+            }
+            host.openContexts.incrementAndGet();
+        }
+        try {
+            if (launch) {
+                launch(host, maxHosts);
+            }
+            awaitLaunch(host);
+            synchronized (host) {
+                String userContextId = new Browser(host.driver).createUserContext();
+                String handle = new BrowsingContext(host.driver, new CreateContextParameters(WindowType.TAB).userContext(userContextId)).getId();
+                logger.info("Opened user context {} on host browser #{}. Contexts on host: {}.", userContextId, host.number, host.openContexts.get());
+                return new ContextDriverDecorator(host, userContextId, handle).decorate(host.driver);
+            }
+        } catch (Exception e) {
+            host.openContexts.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Quits every host browser. Called at JVM shutdown.
+     */
+    public synchronized void shutdown() {
+        for (HostBrowser host : hosts) {
+            if (host.driver != null) {
+                DriverReaper.getInstance().reap(host.driver);
+            }
+        }
+        hosts.clear();
+    }
+
+    private void launch(HostBrowser host, int maxHosts) {
+        long start = System.currentTimeMillis();
+        try {
+            WebDriver driver = DriverFactory.createBiDiDriver();
+            synchronized (this) {
+                if (!hosts.contains(host)) {
+                    DriverReaper.getInstance().reap(driver);
+                    throw new IllegalStateException("Host browsers have been shut down.");
+                }
+                host.driver = driver;
+            }
+            host.launched.complete(driver);
+            logger.info("Started host browser #{} of {} in {} ms.", host.number, maxHosts, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            synchronized (this) {
+                hosts.remove(host);
+            }
+            host.launched.completeExceptionally(e);
+        }
+    }
+
+    private void awaitLaunch(HostBrowser host) throws Exception {
+        try {
+            host.launched.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    private static class HostBrowser {
+        private final int number;
+        private final CompletableFuture<WebDriver> launched = new CompletableFuture<>();
+        // Counts reserved as well as open contexts; updated without the host lock
+        private final AtomicInteger openContexts = new AtomicInteger();
+        private volatile WebDriver driver;
+        private String activeHandle;
+
+        private HostBrowser(int number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * Routes every call on the decorated host driver (and the elements, navigation etc. obtained
+     * from it) to this context's tab, and turns quit() into removal of the user context.
+     */
+    private static class ContextDriverDecorator extends WebDriverDecorator<WebDriver> {
+
+        private final HostBrowser host;
+        private final String userContextId;
+        private String currentHandle;
+        private boolean closed;
+
+        private ContextDriverDecorator(HostBrowser host, String userContextId, String handle) {
+            this.host = host;
+            this.userContextId = userContextId;
+            this.currentHandle = handle;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            boolean isDriverCall = target.getOriginal() == host.driver;
+            if (isNavigation(target, method, isDriverCall)) {
+                navigate(method, args);
+                return null;
+            }
+            synchronized (host) {
+                if (isDriverCall && "quit".equals(method.getName())) {
+                    removeContext();
+                    return null;
+                }
+                if (closed) {
+                    throw new IllegalStateException("User context " + userContextId + " has already been closed.");
+                }
+                if (!currentHandle.equals(host.activeHandle)) {
+                    host.driver.switchTo().window(currentHandle);
+                    host.activeHandle = currentHandle;
+                }
+                Object result = super.call(target, method, args);
+                if (target.getOriginal() instanceof WebDriver.TargetLocator && "window".equals(method.getName())) {
+                    // The test switched tabs itself; keep routing to the tab it chose
+                    currentHandle = (String) args[0];
+                    host.activeHandle = currentHandle;
+                }
+                return result;
+            }
+        }
+
+        private static boolean isNavigation(Decorated<?> target, Method method, boolean isDriverCall) {
+            String name = method.getName();
+            if (isDriverCall) {
+                return "get".equals(name);
+            }
+            return target.getOriginal() instanceof WebDriver.Navigation
+                    && ("to".equals(name) || "refresh".equals(name) || "back".equals(name) || "forward".equals(name));
+        }
+
+        /**
+         * Navigates this context's tab over BiDi, which addresses the tab by its id instead of the
+         * session's current window, so the page load doesn't hold the host.
+         */
+        private void navigate(Method method, Object[] args) {
+            String handle;
+            synchronized (host) {
+                if (closed) {
+                    throw new IllegalStateException("User context " + userContextId + " has already been closed.");
+                }
+                handle = currentHandle;
+            }
+            // Window handles are the ids of their top-level browsing contexts
+            BrowsingContext context = new BrowsingContext(host.driver, handle);
+            switch (method.getName()) {
+                case "refresh":
+                    context.reload(ReadinessState.COMPLETE);
+                    break;
+                case "back":
+                    context.back();
+                    break;
+                case "forward":
+                    context.forward();
+                    break;
+                default:
+                    context.navigate(String.valueOf(args[0]), ReadinessState.COMPLETE);
+            }
+        }
+
+        private void removeContext() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            int openContexts = host.openContexts.decrementAndGet();
+            host.activeHandle = null;
+            try {
+                new Browser(host.driver).removeUserContext(userContextId);
+                logger.info("Removed user context {} from host browser #{}. Contexts on host: {}.", userContextId, host.number, openContexts);
+            } catch (Exception e) {
+                logger.error("Failed to remove user context {} from host browser #{}.", userContextId, host.number, e);
+            }
+        }
+    }
+}
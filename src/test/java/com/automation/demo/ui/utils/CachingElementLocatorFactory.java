@@ -0,0 +1,390 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PageFactory locator factory that caches the elements it resolves, per page object, instead of
+ * running findElement on every field access (the default) or caching forever (@CacheLookup).
+ * Lists are not cached. Cached elements belong to a DOM generation of their driver, a counter that is advanced by:
+ * <ul>
+ *     <li>navigation (get, to, back, forward, refresh) through a driver created by DriverFactory,</li>
+ *     <li>a StaleElementReferenceException on any cached element of the driver (the call is then
+ *     retried once on a freshly located element),</li>
+ *     <li>an explicit {@link #invalidate(WebDriver)}, e.g. by a page object after an action it knows re-renders the page.</li>
+ * </ul>
+ * A field whose locator broke is healed from its recorded element fingerprint, see {@link LocatorHealer}.
+ * Hit and miss counts per page object are available from {@link #getStats()} and logged at JVM shutdown.
+ * Disabled with 'page.cache.enabled=false', in which case pages fall back to the plain PageFactory.
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final Logger logger = LoggerUtil.getLogger(CachingElementLocatorFactory.class);
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("page.cache.enabled", true);
+
+    // Weak keys: the counters hold no reference to the driver, so a quit driver simply drops out
+    private static final Map<WebDriver, AtomicLong> generations = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CachingElementLocatorFactory::logSummary, "element-cache-summary"));
+    }
+
+    private final WebDriver driver;
+    private final String pageName;
+
+    private CachingElementLocatorFactory(WebDriver driver, String pageName) {
+        this.driver = driver;
+        this.pageName = pageName;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Initializes the @FindBy fields of a page object with caching, stale-retrying proxies.
+     * Same as PageFactory.initElements(driver, page) when the cache is disabled.
+     *
+     * @param driver The driver the page runs on.
+     * @param page The page object.
+     */
+    public static void initElements(WebDriver driver, Object page) {
+        if (!enabled) {
+            PageFactory.initElements(driver, page);
+            return;
+        }
+        PageFactory.initElements(new StaleRetryingFieldDecorator(
+                new CachingElementLocatorFactory(driver, page.getClass().getSimpleName())), page);
+    }
+
+    /**
+     * Starts a new DOM generation for the driver: every element cached for it is located again on next use.
+     *
+     * @param driver The driver.
+     */
+    public static void invalidate(WebDriver driver) {
+        generation(driver).incrementAndGet();
+    }
+
+    /**
+     * @return A listener advancing the DOM generation of the driver it is registered on whenever it
+     * navigates. Navigation calls don't identify their driver, so use one listener per driver and
+     * bind it to the decorated driver with {@link NavigationListener#bind(WebDriver)}.
+     */
+    public static NavigationListener navigationListener() {
+        return new NavigationListener();
+    }
+
+    /**
+     * @return Cache statistics per page object, sorted by name.
+     */
+    public static Map<String, CacheStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return locator(driver, new Annotations(field).buildBy(), pageName);
+    }
+
+    /**
+     * A caching locator for one element, for page objects bound without PageFactory (see BoundElement).
+     */
+    static CachingElementLocator locator(WebDriver driver, By by, String pageName) {
+        return new CachingElementLocator(driver, by, pageName, stats.computeIfAbsent(pageName, key -> new CacheStats()));
+    }
+
+    /**
+     * @return Whether the object is an element proxy created by {@link #initElements(WebDriver, Object)}.
+     */
+    static boolean isCachingProxy(Object target) {
+        return Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof StaleRetryingHandler;
+    }
+
+    /**
+     * @return Whether the target describes itself the same way in every run: a By locator or a page
+     * object field. Raw WebElements (and plain PageFactory proxies) describe themselves with ids
+     * that change every run.
+     */
+    static boolean hasStableDescription(Object target) {
+        return target instanceof By || target instanceof BoundElement || isCachingProxy(target);
+    }
+
+    private static AtomicLong generation(WebDriver driver) {
+        return generations.computeIfAbsent(driver, d -> new AtomicLong());
+    }
+
+    private static void logSummary() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        logger.info("---------- PageFactory element cache per page object ----------");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, CacheStats> entry) -> entry.getValue().getLookups()).reversed())
+                .forEach(entry -> logger.info("{} -> {}", entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Locator for one field, caching its element (or list) for the current DOM generation.
+     */
+    static class CachingElementLocator implements ElementLocator {
+        private final WebDriver driver;
+        private final By by;
+        private final String pageName;
+        private final CacheStats stats;
+        private WebElement element;
+        private long elementGeneration;
+        // When the next healing attempt is due while the locator keeps failing; 0 while it matches
+        private long nextHealing;
+
+        private CachingElementLocator(WebDriver driver, By by, String pageName, CacheStats stats) {
+            this.driver = driver;
+            this.by = by;
+            this.pageName = pageName;
+            this.stats = stats;
+        }
+
+        @Override
+        public synchronized WebElement findElement() {
+            long current = generation(driver).get();
+            if (enabled && element != null && elementGeneration == current) {
+                stats.hits.increment();
+                return element;
+            }
+            stats.misses.increment();
+            element = locate();
+            elementGeneration = current;
+            return element;
+        }
+
+        private WebElement locate() {
+            LocatorHealer healer = LocatorHealer.getInstance();
+            try {
+                WebElement found = driver.findElement(by);
+                nextHealing = 0;
+                healer.remember(driver, pageName, by, found);
+                return found;
+            } catch (NoSuchElementException e) {
+                // The original locator always goes first; a healed one only stands in while it fails
+                By healedBy = healer.healedLocator(pageName, by);
+                if (healedBy != null) {
+                    List<WebElement> found = driver.findElements(healedBy);
+                    if (!found.isEmpty()) {
+                        return found.get(0);
+                    }
+                }
+                // Give the page a moment to render the element before looking for it elsewhere,
+                // then try at most once per grace period while the caller keeps polling
+                long now = System.currentTimeMillis();
+                if (nextHealing == 0) {
+                    nextHealing = now + LocatorHealer.getGraceMillis();
+                }
+                if (now < nextHealing) {
+                    throw e;
+                }
+                nextHealing = now + LocatorHealer.getGraceMillis();
+                WebElement healed = healer.heal(driver, pageName, by);
+                if (healed == null) {
+                    throw e;
+                }
+                return healed;
+            }
+        }
+
+        /**
+         * Lists are located on every call, as PageFactory does: a list read while the page is still
+         * rendering (XHR, SPA) would otherwise stay empty or partial until the next navigation.
+         */
+        @Override
+        public List<WebElement> findElements() {
+            stats.misses.increment();
+            return driver.findElements(by);
+        }
+
+        /**
+         * Called when the cached element went stale: the rest of the driver's cache is most likely
+         * stale too (re-render or navigation), so the whole generation is dropped.
+         */
+        void stale() {
+            stats.staleRetries.increment();
+            invalidate(driver);
+        }
+
+        @Override
+        public String toString() {
+            return "CachingElementLocator '" + by + "'";
+        }
+    }
+
+    /**
+     * Creates element proxies that, on a StaleElementReferenceException, invalidate the cache and
+     * retry the call once on a freshly located element. Lists use the default proxies, which locate
+     * them on every call; their elements are plain WebElements.
+     */
+    private static class StaleRetryingFieldDecorator extends DefaultFieldDecorator {
+
+        private StaleRetryingFieldDecorator(ElementLocatorFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+            return (WebElement) Proxy.newProxyInstance(loader,
+                    new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                    new StaleRetryingHandler((CachingElementLocator) locator));
+        }
+    }
+
+    private static class StaleRetryingHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        private StaleRetryingHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+                logger.debug("Cached element went stale, locating it again: {}", locator);
+                locator.stale();
+            }
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Advances the DOM generation of its driver after every navigation.
+     */
+    public static class NavigationListener implements WebDriverListener {
+        private volatile WebDriver driver;
+
+        private NavigationListener() {
+        }
+
+        /**
+         * @param driver The (decorated) driver page objects receive, i.e. the one their caches are keyed by.
+         */
+        public void bind(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private void navigated() {
+            WebDriver bound = driver;
+            if (bound != null) {
+                invalidate(bound);
+            }
+        }
+
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            navigated();
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, String url) {
+            navigated();
+        }
+
+        @Override
+        public void afterTo(WebDriver.Navigation navigation, URL url) {
+            navigated();
+        }
+
+        @Override
+        public void afterBack(WebDriver.Navigation navigation) {
+            navigated();
+        }
+
+        @Override
+        public void afterForward(WebDriver.Navigation navigation) {
+            navigated();
+        }
+
+        @Override
+        public void afterRefresh(WebDriver.Navigation navigation) {
+            navigated();
+        }
+    }
+
+    /**
+     * Lookups of one page object's @FindBy fields.
+     */
+    public static class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder staleRetries = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getStaleRetries() {
+            return staleRetries.sum();
+        }
+
+        public long getLookups() {
+            return getHits() + getMisses();
+        }
+
+        public double getHitRate() {
+            long lookups = getLookups();
+            return lookups == 0 ? 0 : (double) getHits() / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("lookups=%d hits=%d misses=%d hit rate=%.1f%% stale retries=%d",
+                    getLookups(), getHits(), getMisses(), getHitRate() * 100, getStaleRetries());
+        }
+    }
+}
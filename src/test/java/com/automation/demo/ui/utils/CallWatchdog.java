@@ -0,0 +1,295 @@
+package com.automation.demo.ui.utils;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watches in-flight WebDriver commands (of drivers created by DriverFactory) and API requests
+ * (ApiTestBase.sendRequestWithRetry). A call running longer than its limit
+ * ('watchdog.driver.call.limit.seconds', 'watchdog.api.call.limit.seconds') is considered hung:
+ * a thread dump and the last calls of its thread are written to 'watchdog.report.dir', the call
+ * is aborted (the driver service process is stopped or the Grid session deleted; the API request's
+ * connection is closed) and its thread interrupted. When the call returns, the test fails
+ * with a {@link HungCallException} pointing to the report, which is also attached to Allure.
+ */
+public class CallWatchdog {
+
+    private static final Logger logger = LoggerUtil.getLogger(CallWatchdog.class);
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("watchdog.enabled", true);
+    private static final long driverLimitMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("watchdog.driver.call.limit.seconds", "180").trim()));
+    private static final long apiLimitMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("watchdog.api.call.limit.seconds", "90").trim()));
+    private static final long checkIntervalMillis = Long.parseLong(ConfigReader.getProperty("watchdog.check.interval.ms", "1000").trim());
+    private static final int recentCallCount = Integer.parseInt(ConfigReader.getProperty("watchdog.recent.calls", "20").trim());
+    private static final Path reportDir = Path.of(ConfigReader.getProperty("watchdog.report.dir", "target/watchdog"));
+
+    // After the settings above, which the constructor reads
+    private static final CallWatchdog INSTANCE = new CallWatchdog();
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * What a call talks to, which determines its limit.
+     */
+    public enum CallType {
+        DRIVER, API;
+
+        private long limitMillis() {
+            return this == DRIVER ? driverLimitMillis : apiLimitMillis;
+        }
+    }
+
+    private final Map<Long, Call> inFlight = new ConcurrentHashMap<>();
+    private final ThreadLocal<RecentCalls> recentCalls = ThreadLocal.withInitial(RecentCalls::new);
+
+    private CallWatchdog() {
+        if (enabled) {
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "call-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleWithFixedDelay(this::inspect, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+            logger.info("CallWatchdog started. Driver call limit: {} ms, API call limit: {} ms.", driverLimitMillis, apiLimitMillis);
+        }
+    }
+
+    public static CallWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts watching a call made by the current thread.
+     *
+     * @param type What the call talks to.
+     * @param description The call, for reports (e.g. "findElement(By.id: result)").
+     * @param abort Unblocks the call from another thread, e.g. by closing its connection.
+     * @return The call, to pass to {@link #end(Call, Throwable)}.
+     */
+    public Call begin(CallType type, String description, Runnable abort) {
+        Call call = new Call(type, description, abort, recentCalls.get());
+        if (enabled) {
+            inFlight.put(call.id, call);
+        }
+        return call;
+    }
+
+    /**
+     * Stops watching a call.
+     *
+     * @param call The call.
+     * @param error What the call failed with, or null.
+     * @throws HungCallException If the call was aborted as hung.
+     */
+    public void end(Call call, Throwable error) {
+        inFlight.remove(call.id);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - call.startNanos);
+        call.recent.add(call.type + " " + call.description + " " + millis + " ms" + (error == null ? "" : " failed: " + error.getClass().getSimpleName()));
+        if (!call.state.compareAndSet(State.RUNNING, State.ENDED)) {
+            // Aborted: let the watchdog finish, so its interrupt can't hit the next call of this thread
+            awaitAbort(call);
+            Thread.interrupted(); // Clear the interrupt that unblocked the call
+            Allure.addAttachment("Hung call thread dump", "text/plain", call.report);
+            throw new HungCallException("Aborted hung " + call.type + " call " + call.description + " after " + millis
+                    + " ms (limit " + call.type.limitMillis() + " ms). Thread dump: " + call.reportFile, error);
+        }
+    }
+
+    private static void awaitAbort(Call call) {
+        while (true) {
+            try {
+                call.aborted.await();
+                return;
+            } catch (InterruptedException e) {
+                // The watchdog's own interrupt; cleared by the caller
+            }
+        }
+    }
+
+    private void inspect() {
+        long now = System.nanoTime();
+        for (Call call : inFlight.values()) {
+            if (call.state.get() == State.RUNNING && TimeUnit.NANOSECONDS.toMillis(now - call.startNanos) > call.type.limitMillis()) {
+                try {
+                    abort(call);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to abort hung call {}.", call.description, e);
+                }
+            }
+        }
+    }
+
+    private void abort(Call call) {
+        if (!call.state.compareAndSet(State.RUNNING, State.ABORTED)) {
+            return; // Returned after all; the session is healthy and the thread has moved on
+        }
+        try {
+            reportAndAbort(call);
+        } finally {
+            call.aborted.countDown();
+        }
+    }
+
+    private void reportAndAbort(Call call) {
+        String testName = call.test == null ? call.thread.getName() : call.test.getTestClass().getRealClass().getSimpleName() + "." + call.test.getName();
+        call.report = report(call, testName);
+        call.reportFile = reportDir.resolve(LocalDateTime.now().format(FILE_TIME) + "-" + call.thread.getName().replaceAll("[^A-Za-z0-9._-]", "_") + ".txt");
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(call.reportFile, call.report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not write watchdog report {}: {}", call.reportFile, e.getMessage());
+        }
+        logger.error("{} call {} of {} on thread {} hung for more than {} ms. Aborting it. Thread dump: {}",
+                call.type, call.description, testName, call.thread.getName(), call.type.limitMillis(), call.reportFile);
+        try {
+            call.abort.run();
+        } finally {
+            call.thread.interrupt();
+        }
+    }
+
+    private static String report(Call call, String testName) {
+        StringBuilder report = new StringBuilder();
+        report.append("Hung ").append(call.type).append(" call: ").append(call.description).append('\n')
+                .append("Test: ").append(testName).append('\n')
+                .append("Thread: ").append(call.thread.getName()).append('\n')
+                .append("Running for: ").append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - call.startNanos))
+                .append(" ms (limit ").append(call.type.limitMillis()).append(" ms)\n\n")
+                .append("Last calls of the thread, oldest first:\n");
+        call.recent.snapshot().forEach(line -> report.append("  ").append(line).append('\n'));
+        report.append("\nThread dump:\n");
+        ThreadInfo[] threads = ManagementFactory.getThreadMXBean().dumpAllThreads(true, true);
+        // The hung thread first
+        for (ThreadInfo thread : threads) {
+            if (thread.getThreadId() == call.thread.threadId()) {
+                appendThread(report, thread);
+            }
+        }
+        for (ThreadInfo thread : threads) {
+            if (thread.getThreadId() != call.thread.threadId()) {
+                appendThread(report, thread);
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Like ThreadInfo.toString, without its limit of 8 frames.
+     */
+    private static void appendThread(StringBuilder report, ThreadInfo thread) {
+        report.append('"').append(thread.getThreadName()).append("\" #").append(thread.getThreadId())
+                .append(thread.isDaemon() ? " daemon " : " ").append(thread.getThreadState());
+        if (thread.getLockName() != null) {
+            report.append(" on ").append(thread.getLockName());
+        }
+        if (thread.getLockOwnerName() != null) {
+            report.append(" owned by \"").append(thread.getLockOwnerName()).append("\" #").append(thread.getLockOwnerId());
+        }
+        report.append('\n');
+        StackTraceElement[] frames = thread.getStackTrace();
+        for (int i = 0; i < frames.length; i++) {
+            report.append("\tat ").append(frames[i]).append('\n');
+            for (MonitorInfo monitor : thread.getLockedMonitors()) {
+                if (monitor.getLockedStackDepth() == i) {
+                    report.append("\t- locked ").append(monitor).append('\n');
+                }
+            }
+        }
+        for (LockInfo lock : thread.getLockedSynchronizers()) {
+            report.append("\t- locked ").append(lock).append('\n');
+        }
+        report.append('\n');
+    }
+
+    private enum State { RUNNING, ENDED, ABORTED }
+
+    /**
+     * One in-flight call.
+     */
+    public static class Call {
+        private final long id = SEQUENCE.incrementAndGet();
+        private final long startNanos = System.nanoTime();
+        private final CallType type;
+        private final String description;
+        private final Runnable abort;
+        private final RecentCalls recent;
+        private final Thread thread = Thread.currentThread();
+        private final ITestResult test = Reporter.getCurrentTestResult();
+        // RUNNING until either the calling thread ends it or the watchdog aborts it
+        private final AtomicReference<State> state = new AtomicReference<>(State.RUNNING);
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        // Set by the watchdog thread when the call is aborted
+        private volatile String report;
+        private volatile Path reportFile;
+
+        private Call(CallType type, String description, Runnable abort, RecentCalls recent) {
+            this.type = type;
+            this.description = description;
+            this.abort = abort;
+            this.recent = recent;
+        }
+
+        /**
+         * @return When the call started, in System.nanoTime().
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+    }
+
+    /**
+     * Thrown by a call that the watchdog aborted as hung.
+     */
+    public static class HungCallException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private HungCallException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * The last calls of one thread; read by the watchdog thread when one of them hangs.
+     */
+    private static class RecentCalls {
+        private final Deque<String> calls = new ArrayDeque<>();
+
+        private synchronized void add(String call) {
+            if (calls.size() == recentCallCount) {
+                calls.removeFirst();
+            }
+            calls.addLast(call);
+        }
+
+        private synchronized List<String> snapshot() {
+            return new ArrayList<>(calls);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.automation.demo.ui.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps the number of WebDriver commands a UI test may send while 'profiler.enabled=true'.
+ * Overrides 'profiler.command.budget' for the annotated test method or every test in the class,
+ * so a round-trip regression in a page object fails the test instead of silently slowing it down.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface CommandBudget {
+
+    /**
+     * The maximum number of WebDriver commands, including the test's @BeforeMethod/@AfterMethod setup.
+     */
+    int value();
+}
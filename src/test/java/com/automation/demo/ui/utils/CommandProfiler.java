@@ -0,0 +1,219 @@
+package com.automation.demo.ui.utils;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in WebDriver command profiler ('profiler.enabled=true'). DriverFactory decorates every
+ * driver with this listener, which records each command sent during a test with its latency and
+ * the page object (or test) method that issued it. At the end of the test CommandProfilerListener
+ * logs and attaches a summary: total commands, time spent in the browser versus the JVM, the top
+ * call sites, and N+1 patterns, i.e. call sites that send the same commands over and over from
+ * a loop (such as findElement + getText per list item).
+ */
+public class CommandProfiler implements WebDriverListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(CommandProfiler.class);
+    private static final CommandProfiler INSTANCE = new CommandProfiler();
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("profiler.enabled", false);
+    private static final int repeatThreshold = Integer.parseInt(ConfigReader.getProperty("profiler.repeat.threshold", "5").trim());
+    private static final int topCallSites = Integer.parseInt(ConfigReader.getProperty("profiler.top.call.sites", "5").trim());
+
+    // Calls that are answered locally by the client without a round trip to the driver
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals", "getId", "getSessionId");
+    private static final String FRAMEWORK_PACKAGE = "com.automation.demo.ui.utils";
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private final ThreadLocal<TestProfile> currentProfile = new ThreadLocal<>();
+    private final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private CommandProfiler() {
+    }
+
+    public static CommandProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts recording the commands sent from the current thread.
+     */
+    public void startTest() {
+        currentProfile.set(new TestProfile());
+    }
+
+    public boolean isRecording() {
+        return currentProfile.get() != null;
+    }
+
+    /**
+     * Stops recording for the current thread without reporting.
+     */
+    public void discard() {
+        currentProfile.remove();
+        callStarts.remove();
+    }
+
+    /**
+     * Stops recording for the current thread, then logs the summary and attaches it to the Allure report.
+     *
+     * @param testName The test the recorded commands belong to.
+     * @return The finished profile, or null if none was started.
+     */
+    public TestProfile finishTest(String testName) {
+        TestProfile profile = currentProfile.get();
+        discard();
+        if (profile == null) {
+            return null;
+        }
+        profile.testName = testName;
+        profile.wallNanos = System.nanoTime() - profile.startNanos;
+        String summary = profile.summary();
+        logger.info(summary);
+        Allure.addAttachment("WebDriver command profile", "text/plain", summary);
+        return profile;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (currentProfile.get() != null && !LOCAL_CALLS.contains(method.getName())) {
+            callStarts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method);
+    }
+
+    private void record(Object target, Method method) {
+        TestProfile profile = currentProfile.get();
+        if (profile == null || LOCAL_CALLS.contains(method.getName()) || callStarts.get().isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - callStarts.get().pop();
+        String command = (target instanceof WebElement ? "element." : "") + method.getName();
+        profile.record(callSite(), command, nanos);
+    }
+
+    /**
+     * The innermost caller outside the framework utilities and Selenium: a page object method,
+     * or the test method itself for tests that drive the browser directly.
+     */
+    private static String callSite() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.automation.demo.")
+                        && !frame.getClassName().startsWith(FRAMEWORK_PACKAGE)
+                        && !frame.getClassName().endsWith(".BasePage"))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("(framework)"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Commands recorded for one test.
+     */
+    public static class TestProfile {
+        private String testName;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, CallSite> callSites = new LinkedHashMap<>();
+        private int commands;
+        private long browserNanos;
+        private long wallNanos;
+
+        private void record(String site, String command, long nanos) {
+            commands++;
+            browserNanos += nanos;
+            CallSite callSite = callSites.computeIfAbsent(site, CallSite::new);
+            callSite.calls++;
+            callSite.nanos += nanos;
+            callSite.commandCounts.merge(command, 1, Integer::sum);
+        }
+
+        public String getTestName() {
+            return testName;
+        }
+
+        public int getCommands() {
+            return commands;
+        }
+
+        public long getBrowserMillis() {
+            return browserNanos / 1_000_000;
+        }
+
+        public long getJvmMillis() {
+            return Math.max(0, wallNanos - browserNanos) / 1_000_000;
+        }
+
+        /**
+         * @return Call sites that sent at least 'profiler.repeat.threshold' of the same commands,
+         * described as e.g. "RandomPractice.lambda$sampleMethod$3:57 element.findElement+element.getText x6".
+         */
+        public List<String> getRepeatedPatterns() {
+            return callSites.values().stream()
+                    .filter(site -> site.commandCounts.values().stream().anyMatch(count -> count >= repeatThreshold))
+                    .map(site -> site.name + " " + site.commandCounts.entrySet().stream()
+                            .filter(entry -> entry.getValue() >= repeatThreshold)
+                            .map(Map.Entry::getKey)
+                            .collect(Collectors.joining("+"))
+                            + " x" + site.commandCounts.values().stream().mapToInt(Integer::intValue).max().orElse(0))
+                    .collect(Collectors.toList());
+        }
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder()
+                    .append("WebDriver command profile of ").append(testName).append(": ")
+                    .append(commands).append(" command(s), ")
+                    .append(getBrowserMillis()).append(" ms in browser, ")
+                    .append(getJvmMillis()).append(" ms in JVM.");
+            callSites.values().stream()
+                    .sorted(Comparator.comparingLong((CallSite site) -> site.nanos).reversed())
+                    .limit(topCallSites)
+                    .forEach(site -> summary.append(System.lineSeparator()).append(String.format("  %-60s %4d command(s) %6d ms %s",
+                            site.name, site.calls, site.nanos / 1_000_000, site.commandCounts)));
+            for (String pattern : getRepeatedPatterns()) {
+                summary.append(System.lineSeparator()).append("  N+1 pattern: ").append(pattern);
+            }
+            return summary.toString();
+        }
+    }
+
+    private static class CallSite {
+        private final String name;
+        private final Map<String, Integer> commandCounts = new LinkedHashMap<>();
+        private int calls;
+        private long nanos;
+
+        private CallSite(String name) {
+            this.name = name;
+        }
+    }
+}
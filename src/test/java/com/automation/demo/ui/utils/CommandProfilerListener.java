@@ -0,0 +1,74 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+
+// This class implements IInvokedMethodListener to profile the WebDriver commands of each test and enforce its command budget
+public class CommandProfilerListener implements IInvokedMethodListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(CommandProfilerListener.class);
+    private static final int defaultBudget = Integer.parseInt(ConfigReader.getProperty("profiler.command.budget", "0").trim());
+
+    /**
+     * Called before every configuration and test method.
+     * Starts a profile at the first @BeforeMethod of a test (or at the test itself when it has none),
+     * so the commands of the test's setup are counted as well.
+     * @param method The method about to run.
+     * @param testResult The result of the method.
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!CommandProfiler.isEnabled()) {
+            return;
+        }
+        boolean startsTest = method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration();
+        if (startsTest && !CommandProfiler.getInstance().isRecording()) {
+            CommandProfiler.getInstance().startTest();
+        }
+    }
+
+    /**
+     * Called after every configuration and test method.
+     * After the test method the profile is finished, and the test is failed if it sent more commands
+     * than its budget. Commands of @AfterMethod teardown are not attributed to any test.
+     * @param method The method that ran.
+     * @param testResult The result of the method.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!CommandProfiler.isEnabled()) {
+            return;
+        }
+        if (method.getTestMethod().isAfterMethodConfiguration()) {
+            CommandProfiler.getInstance().discard(); // Left over when a @BeforeMethod failed and the test was skipped
+            return;
+        }
+        if (!method.isTestMethod()) {
+            return;
+        }
+        CommandProfiler.TestProfile profile = CommandProfiler.getInstance().finishTest(testResult.getName());
+        int budget = budgetOf(testResult.getMethod().getConstructorOrMethod().getMethod());
+        if (profile == null || budget <= 0 || profile.getCommands() <= budget) {
+            return;
+        }
+        String message = "WebDriver command budget exceeded by " + profile.getTestName() + ": "
+                + profile.getCommands() + " command(s), budget " + budget + ". Repeated patterns: " + profile.getRepeatedPatterns();
+        logger.error(message);
+        if (testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(message));
+        }
+    }
+
+    private static int budgetOf(Method testMethod) {
+        CommandBudget budget = testMethod.getAnnotation(CommandBudget.class);
+        if (budget == null) {
+            budget = testMethod.getDeclaringClass().getAnnotation(CommandBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
@@ -0,0 +1,158 @@
+package com.automation.demo.ui.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-driven element waits ('wait.mode=observer'). Instead of polling the browser over the
+ * WebDriver protocol, one async script installs a MutationObserver (plus transition/animation
+ * listeners and a 'wait.observer.recheck.ms' in-page fallback check for style changes that
+ * cause no mutation) and calls back as soon as the condition holds or the timeout expires.
+ * A wait therefore costs one round trip and returns within a frame of the DOM change.
+ */
+public class DomEventWait {
+
+    /**
+     * Conditions the in-page watcher can evaluate. ENABLED implies visible, like elementToBeClickable.
+     */
+    public enum DomCondition { PRESENT, VISIBLE, ENABLED, TEXT_CONTAINS }
+
+    /**
+     * Thrown when a wait cannot be expressed in the page (e.g. a locator strategy the script
+     * doesn't support), so the caller can fall back to polling.
+     */
+    public static class UnsupportedWaitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public UnsupportedWaitException(String message) {
+            super(message);
+        }
+    }
+
+    private static final long recheckMillis = Long.parseLong(ConfigReader.getProperty("wait.observer.recheck.ms", "250").trim());
+
+    // Script timeout last applied per driver, so it is only raised (one extra round trip) when a longer wait needs it
+    private static final Map<WebDriver, Long> scriptTimeouts = new ConcurrentHashMap<>();
+    // The W3C default, which sessions created by DriverFactory start with
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String WATCH_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.IS_VISIBLE_FUNCTION
+            + "var callback = arguments[arguments.length - 1];"
+            + "var target = arguments[0], using = arguments[1], selector = arguments[2], condition = arguments[3],"
+            + "    expectedText = arguments[4], timeout = arguments[5], recheck = arguments[6];"
+            + "function find() {"
+            + "  if (target) { return target.isConnected ? target : null; }"
+            + "  return findByLocator(using, selector);"
+            + "}"
+            + "function check() {"
+            + "  var el = find();"
+            + "  if (!el) { return null; }"
+            + "  switch (condition) {"
+            + "    case 'PRESENT': return el;"
+            + "    case 'VISIBLE': return isVisible(el) ? el : null;"
+            + "    case 'ENABLED': return isVisible(el) && !el.disabled ? el : null;"
+            + "    case 'TEXT_CONTAINS': return (el.innerText || el.textContent || el.value || '').indexOf(expectedText) >= 0 ? el : null;"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "var found = check();"
+            + "if (found) { callback(found); return; }"
+            + "var done = false, observer, timer, interval;"
+            + "function finish(result) {"
+            + "  if (done) { return; }"
+            + "  done = true;"
+            + "  observer.disconnect(); clearTimeout(timer); clearInterval(interval);"
+            + "  document.removeEventListener('transitionend', onEvent, true);"
+            + "  document.removeEventListener('animationend', onEvent, true);"
+            + "  callback(result);"
+            + "}"
+            + "function onEvent() { var result = check(); if (result) { finish(result); } }"
+            + "observer = new MutationObserver(onEvent);"
+            + "observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "document.addEventListener('transitionend', onEvent, true);"
+            + "document.addEventListener('animationend', onEvent, true);"
+            + "interval = setInterval(onEvent, recheck);"
+            + "timer = setTimeout(function () { finish(null); }, timeout);";
+
+    private DomEventWait() {
+    }
+
+    /**
+     * Blocks on a single async script until the condition holds for the target.
+     *
+     * @param driver The driver to wait on.
+     * @param target A By locator (CSS or XPath based) or an already located WebElement.
+     * @param condition The condition to wait for.
+     * @param expectedText The text to look for with TEXT_CONTAINS, otherwise ignored.
+     * @param timeoutMillis How long to wait.
+     * @return The element that satisfied the condition.
+     * @throws TimeoutException If the condition does not hold within the timeout.
+     * @throws UnsupportedWaitException If the locator cannot be evaluated in the page.
+     */
+    public static WebElement await(WebDriver driver, Object target, DomCondition condition, String expectedText, long timeoutMillis) {
+        WebElement element = null;
+        String using = null;
+        String selector = null;
+        if (target instanceof WebElement) {
+            element = (WebElement) target;
+        } else if (target instanceof By) {
+            String[] scriptLocator = PageScripts.toScriptLocator((By) target);
+            if (scriptLocator == null) {
+                throw new UnsupportedWaitException("Locator strategy is not supported by observer waits: " + target);
+            }
+            using = scriptLocator[0];
+            selector = scriptLocator[1];
+        } else {
+            throw new UnsupportedWaitException("Observer waits need a WebElement or a remotable By, got: " + target);
+        }
+
+        ensureScriptTimeout(driver, timeoutMillis);
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(WATCH_SCRIPT,
+                element, using, selector, condition.name(), expectedText == null ? "" : expectedText, timeoutMillis, recheckMillis);
+        if (result instanceof WebElement) {
+            return (WebElement) result;
+        }
+        throw new TimeoutException(String.format("Expected condition failed: waiting for %s of %s (observed for %d ms)",
+                condition, target, timeoutMillis));
+    }
+
+    /**
+     * Forgets the script timeout applied to a driver that is being quit.
+     *
+     * @param driver The driver.
+     */
+    public static void forget(WebDriver driver) {
+        scriptTimeouts.remove(driver);
+    }
+
+    /**
+     * Puts the script timeout of a driver back to the session default if an observer wait raised
+     * it, so a pooled session doesn't hand a raised timeout to the next test's scripts.
+     *
+     * @param driver The driver.
+     */
+    public static void resetScriptTimeout(WebDriver driver) {
+        if (scriptTimeouts.remove(driver) != null) {
+            driver.manage().timeouts().scriptTimeout(DEFAULT_SCRIPT_TIMEOUT);
+        }
+    }
+
+    private static void ensureScriptTimeout(WebDriver driver, long timeoutMillis) {
+        // Leave headroom so the in-page timer answers before the driver's script timeout fires
+        long required = timeoutMillis + 5000;
+        Long applied = scriptTimeouts.get(driver);
+        if (applied == null || applied < required) {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(required));
+            scriptTimeouts.put(driver, required);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker around driver creation ('driver.breaker.*' properties).
+ * After 'driver.breaker.failure.threshold' consecutive creation failures (browser missing,
+ * Grid down, ...) the circuit opens and every further creation attempt throws a SkipException
+ * carrying the root cause right away, instead of each test waiting for its own timeout.
+ * After 'driver.breaker.open.seconds' one caller is let through as a half-open probe: if it
+ * succeeds the circuit closes again, if it fails the circuit stays open for another period.
+ */
+public class DriverCircuitBreaker {
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverCircuitBreaker.class);
+    private static final DriverCircuitBreaker INSTANCE = new DriverCircuitBreaker();
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private Throwable lastFailure;
+
+    private DriverCircuitBreaker() {
+        this(ConfigReader.getBooleanProperty("driver.breaker.enabled", true),
+                Integer.parseInt(ConfigReader.getProperty("driver.breaker.failure.threshold", "3").trim()),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("driver.breaker.open.seconds", "30").trim())));
+    }
+
+    /**
+     * @param enabled Whether creations go through the breaker at all.
+     * @param failureThreshold Consecutive creation failures that open the circuit.
+     * @param openMillis How long the circuit stays open before a half-open probe is let through.
+     */
+    public DriverCircuitBreaker(boolean enabled, int failureThreshold, long openMillis) {
+        this.enabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public static DriverCircuitBreaker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs a driver creation through the breaker.
+     *
+     * @param creation Creates the driver.
+     * @return The created driver.
+     * @throws SkipException If the circuit is open, or half-open with a probe already in flight.
+     * @throws Exception Whatever the creation throws.
+     */
+    public WebDriver create(Callable<WebDriver> creation) throws Exception {
+        if (!enabled) {
+            return creation.call();
+        }
+        beforeAttempt();
+        try {
+            WebDriver driver = creation.call();
+            onSuccess();
+            return driver;
+        } catch (Exception e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return true while creation attempts are being short-circuited.
+     */
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    private synchronized void beforeAttempt() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            logger.info("Driver creation circuit half-open: probing with Thread {}.", Thread.currentThread().threadId());
+            return;
+        }
+        throw new SkipException("Driver creation circuit is " + state + " after " + consecutiveFailures
+                + " consecutive failure(s). Root cause: " + describe(rootCause(lastFailure)), lastFailure);
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Driver creation recovered; circuit closed after {} consecutive failure(s).", consecutiveFailures);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        lastFailure = null;
+    }
+
+    private synchronized void onFailure(Throwable failure) {
+        consecutiveFailures++;
+        lastFailure = failure;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                logger.error("Driver creation circuit opened for {} s after {} consecutive failure(s). Remaining UI tests will be skipped. Root cause: {}",
+                        TimeUnit.MILLISECONDS.toSeconds(openMillis), consecutiveFailures, describe(rootCause(failure)));
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause != null && cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String describe(Throwable cause) {
+        if (cause == null) {
+            return "unknown";
+        }
+        String message = cause.getMessage() == null ? "" : cause.getMessage().lines().findFirst().orElse("");
+        return cause.getClass().getSimpleName() + ": " + message;
+    }
+}
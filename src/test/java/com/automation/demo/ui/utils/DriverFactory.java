@@ -3,18 +3,29 @@ package com.automation.demo.ui.utils;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.AbstractDriverOptions; // Import base class for options
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.events.WebDriverListener;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Optional: Use WebDriverManager dependency for local driver setup
 // import io.github.bonigarcia.wdm.WebDriverManager;
@@ -23,15 +34,74 @@ public class DriverFactory {
 
     private static final Logger logger = LoggerUtil.getLogger(DriverFactory.class);
 
+    // Driver service (chromedriver/geckodriver/msedgedriver process) behind each local driver,
+    // kept so a session whose quit() hangs can still be torn down by stopping its process
+    private static final Map<WebDriver, DriverService> localDriverServices = new ConcurrentHashMap<>();
+
     /**
      * Creates a WebDriver instance based on configuration properties.
-     * Handles both local and remote execution modes.
+     * Handles both local and remote execution modes. With 'browser.isolation=context'
+     * the driver is an isolated user context inside a shared host browser. The driver is decorated
+     * with the CommandProfiler ('profiler.enabled=true') and the navigation listener of the
+     * PageFactory element cache ('page.cache.enabled').
      *
      * @return WebDriver instance.
      * @throws MalformedURLException If the selenium.grid.url is invalid in remote mode.
      * @throws IllegalArgumentException If the browser is unsupported or grid URL is missing.
+     * @throws org.testng.SkipException If the DriverCircuitBreaker is open after repeated creation failures.
+     */
+    public static WebDriver createDriver() throws Exception {
+        // Fails fast with the root cause once the environment is known to be broken
+        WebDriver driver = DriverCircuitBreaker.getInstance().create(() -> {
+            if (BrowserContextHosts.isContextMode()) {
+                // One isolated BiDi user context inside a shared browser process instead of a browser per test
+                return BrowserContextHosts.getInstance().newContextDriver();
+            }
+            return createDriver(false);
+        });
+        return decorate(driver);
+    }
+
+    /**
+     * Registers the opt-in command profiler and the navigation listener of the PageFactory element
+     * cache on the driver, when either is enabled, in a decorator that also holds its commands to the
+     * running test's time budget and to the CallWatchdog (see GuardedDriverDecorator). The driver
+     * service follows the decorated driver.
      */
-    public static WebDriver createDriver() throws MalformedURLException, URISyntaxException {
+    private static WebDriver decorate(WebDriver driver) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (CommandProfiler.isEnabled()) {
+            listeners.add(CommandProfiler.getInstance());
+        }
+        CachingElementLocatorFactory.NavigationListener navigationListener = null;
+        if (CachingElementLocatorFactory.isEnabled()) {
+            navigationListener = CachingElementLocatorFactory.navigationListener();
+            listeners.add(navigationListener);
+        }
+        GuardedDriverDecorator decorator = new GuardedDriverDecorator(listeners.toArray(new WebDriverListener[0]));
+        WebDriver decoratedDriver = decorator.decorate(driver);
+        decorator.bind(decoratedDriver);
+        if (navigationListener != null) {
+            navigationListener.bind(decoratedDriver);
+        }
+        DriverService service = localDriverServices.remove(driver);
+        if (service != null) {
+            localDriverServices.put(decoratedDriver, service);
+        }
+        return decoratedDriver;
+    }
+
+    /**
+     * Creates a WebDriver instance with WebDriver BiDi enabled ('webSocketUrl' capability),
+     * used as a host browser for isolated user contexts.
+     *
+     * @return WebDriver instance with a BiDi connection.
+     */
+    public static WebDriver createBiDiDriver() throws MalformedURLException, URISyntaxException {
+        return createDriver(true);
+    }
+
+    private static WebDriver createDriver(boolean enableBiDi) throws MalformedURLException, URISyntaxException {
         String runMode = ConfigReader.getProperty("run.mode", "local"); // Default to local
         String browserName = ConfigReader.getProperty("browser", "chrome").toLowerCase(); // Default to chrome
         boolean isHeadless = Boolean.parseBoolean(ConfigReader.getProperty("run.headless", "false")); // Default to false
@@ -43,9 +113,9 @@ public class DriverFactory {
         WebDriver driver;
 
         if ("remote".equalsIgnoreCase(runMode)) {
-            driver = createRemoteDriver(browserName, isHeadless);
+            driver = createRemoteDriver(browserName, isHeadless, enableBiDi);
         } else {
-            driver = createLocalDriver(browserName, isHeadless);
+            driver = createLocalDriver(browserName, isHeadless, enableBiDi);
         }
         return driver;
     }
@@ -53,24 +123,30 @@ public class DriverFactory {
     /**
      * Creates a local WebDriver instance.
      */
-    private static WebDriver createLocalDriver(String browserName, boolean isHeadless) {
+    private static WebDriver createLocalDriver(String browserName, boolean isHeadless, boolean enableBiDi) {
         WebDriver driver;
         logger.info("Creating local driver for: {}", browserName);
         switch (browserName) {
             case "chrome":
                 // Optional: WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = getChromeOptions(isHeadless);
-                driver = new ChromeDriver(chromeOptions);
+                ChromeOptions chromeOptions = withBiDi(getChromeOptions(isHeadless), enableBiDi);
+                ChromeDriverService chromeService = ChromeDriverService.createDefaultService();
+                driver = new ChromeDriver(chromeService, chromeOptions);
+                localDriverServices.put(driver, chromeService);
                 break;
             case "firefox":
                 // Optional: WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = getFirefoxOptions(isHeadless);
-                driver = new FirefoxDriver(firefoxOptions);
+                FirefoxOptions firefoxOptions = withBiDi(getFirefoxOptions(isHeadless), enableBiDi);
+                GeckoDriverService firefoxService = GeckoDriverService.createDefaultService();
+                driver = new FirefoxDriver(firefoxService, firefoxOptions);
+                localDriverServices.put(driver, firefoxService);
                 break;
             case "edge":
                 // Optional: WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = getEdgeOptions(isHeadless);
-                driver = new EdgeDriver(edgeOptions);
+                EdgeOptions edgeOptions = withBiDi(getEdgeOptions(isHeadless), enableBiDi);
+                EdgeDriverService edgeService = EdgeDriverService.createDefaultService();
+                driver = new EdgeDriver(edgeService, edgeOptions);
+                localDriverServices.put(driver, edgeService);
                 break;
             default:
                 logger.error("Unsupported browser for local execution: {}", browserName);
@@ -79,10 +155,20 @@ public class DriverFactory {
         return driver;
     }
 
+    /**
+     * Forgets the driver service of a local driver once the driver has been quit.
+     *
+     * @param driver The driver that was quit.
+     * @return The driver service it ran on, or null for remote drivers.
+     */
+    public static DriverService removeDriverService(WebDriver driver) {
+        return localDriverServices.remove(driver);
+    }
+
     /**
      * Creates a RemoteWebDriver instance connecting to the Selenium Grid.
      */
-    private static WebDriver createRemoteDriver(String browserName, boolean isHeadless) throws MalformedURLException ,URISyntaxException {
+    private static WebDriver createRemoteDriver(String browserName, boolean isHeadless, boolean enableBiDi) throws MalformedURLException ,URISyntaxException {
         String gridUrl = ConfigReader.getProperty("selenium.grid.url");
         if (gridUrl == null || gridUrl.trim().isEmpty()) {
             logger.error("selenium.grid.url is not configured for remote execution.");
@@ -106,8 +192,47 @@ public class DriverFactory {
                 logger.error("Unsupported browser for remote execution: {}", browserName);
                 throw new IllegalArgumentException("Remote browser not supported: " + browserName);
         }
-        // Create RemoteWebDriver with the Hub URL and appropriate browser options
-        return new RemoteWebDriver(hubUrl, options);
+        withBiDi(options, enableBiDi);
+        if (!ConfigReader.getBooleanProperty("grid.scheduler.enabled", true)) {
+            // Create RemoteWebDriver with the Hub URL and appropriate browser options
+            return newRemoteWebDriver(hubUrl, options);
+        }
+
+        // Only send the new-session request once the Grid reports a free slot for this browser
+        GridCapacityScheduler scheduler = GridCapacityScheduler.forGrid(hubUrl.toURI());
+        // The W3C name the Grid stereotypes advertise ("MicrosoftEdge"), not the config name ("edge")
+        String gridBrowserName = options.getBrowserName();
+        try {
+            scheduler.acquire(gridBrowserName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free Grid slot.", e);
+        }
+        try {
+            return newRemoteWebDriver(hubUrl, options);
+        } finally {
+            scheduler.release(gridBrowserName);
+        }
+    }
+
+    /**
+     * Creates the RemoteWebDriver on the shared, tuned HTTP clients of RemoteClientFactory.
+     * With 'remote.http.shared.clients=false' Selenium's default client (one per session) is used.
+     */
+    private static WebDriver newRemoteWebDriver(URL hubUrl, AbstractDriverOptions<?> options) throws URISyntaxException {
+        if (!ConfigReader.getBooleanProperty("remote.http.shared.clients", true)) {
+            return new RemoteWebDriver(hubUrl, options);
+        }
+        RemoteClientFactory clientFactory = RemoteClientFactory.getInstance();
+        HttpCommandExecutor executor = new HttpCommandExecutor(Collections.emptyMap(), clientFactory.clientConfig(hubUrl.toURI()), clientFactory);
+        return new RemoteWebDriver(executor, options);
+    }
+
+    private static <T extends AbstractDriverOptions<?>> T withBiDi(T options, boolean enableBiDi) {
+        if (enableBiDi) {
+            options.setCapability("webSocketUrl", true);
+        }
+        return options;
     }
 
     // --- Browser Options Helper Methods ---
@@ -1,6 +1,9 @@
 package com.automation.demo.ui.utils; // Or your actual package
 
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
 // Assuming LoggerUtil exists
 
  import org.apache.logging.log4j.Logger;
@@ -10,15 +13,42 @@ public class DriverManager {
 
      private static final Logger logger = LoggerUtil.getLogger(DriverManager.class); // Optional logging
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    // Context mode hands out cheap user contexts, so there's nothing to gain from pooling them
+    private static final boolean poolingEnabled = ConfigReader.getBooleanProperty("driver.pool.enabled", true)
+            && !BrowserContextHosts.isContextMode();
 
     public static WebDriver getDriver() {
+        return getDriver(null);
+    }
+
+    /**
+     * Returns the WebDriver for the current thread, opened on the given start URL.
+     * With pooling enabled, a session that was pre-navigated to the URL is handed out without another page load.
+     *
+     * @param startUrl The URL the test starts on, or null to leave the session where it is.
+     * @return The WebDriver for the current thread.
+     */
+    public static WebDriver getDriver(String startUrl) {
         WebDriver driver = driverThreadLocal.get();
+        if (driver != null && startUrl != null) {
+            driver.get(startUrl);
+        }
         if (driver == null) {
             try {
-                //Call to factory to create the driver
-                driver = DriverFactory.createDriver();
+                // Borrow a warm session from the pool, or call the factory directly when pooling is off
+                if (poolingEnabled) {
+                    driver = DriverPool.getInstance().borrow(startUrl);
+                } else {
+                    driver = DriverFactory.createDriver();
+                    if (startUrl != null) {
+                        driver.get(startUrl);
+                    }
+                }
                 driverThreadLocal.set(driver);
                 logger.info("WebDriver instance created and set for Thread {}", Thread.currentThread().threadId()); // Optional log
+            } catch (SkipException e) {
+                // Driver creation circuit is open; skip without another creation attempt
+                throw e;
             } catch (Exception e) {
                 // TODO: handle exception
 
@@ -39,8 +69,58 @@ public class DriverManager {
         }
     }
 
+    public static boolean isPoolingEnabled() {
+        return poolingEnabled;
+    }
+
+    /**
+     * Hands the WebDriver instance for the current thread back to the session pool so the
+     * next test can reuse it, and removes it from storage. Falls back to {@link #quitDriver()}
+     * when pooling is disabled or the driver was not borrowed from the pool.
+     * The session is health-checked first and recycled instead if it exceeds the
+     * 'session.health.*' thresholds.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null || !poolingEnabled || !DriverPool.getInstance().isManaged(driver)) {
+            quitDriver();
+            return;
+        }
+        long threadId = Thread.currentThread().threadId();
+        try {
+            String recycleReason = SessionHealthProbe.isEnabled() ? checkHealth(driver) : null;
+            if (recycleReason != null) {
+                DriverPool.getInstance().discard(driver, "unhealthy: " + recycleReason);
+                logger.warn("WebDriver recycled for Thread {}: {}.", threadId, recycleReason);
+                return;
+            }
+            DriverPool.getInstance().release(driver);
+            logger.info("WebDriver returned to pool for Thread {}.", threadId);
+        } catch (Exception e) {
+            logger.error("Error occurred while returning WebDriver to pool for Thread {}.", threadId, e);
+        } finally {
+            driverThreadLocal.remove();
+        }
+    }
+
+    private static String checkHealth(WebDriver driver) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String testName = result != null ? result.getName() : "unknown";
+        try {
+            SessionHealthProbe.HealthSample sample = SessionHealthProbe.sample(driver);
+            String recycleReason = SessionHealthProbe.exceededThreshold(sample);
+            SessionHealthProbe.report(testName, sample, recycleReason);
+            AdaptiveParallelismController.getInstance().recordCommandLatency(sample.getCommandLatencyMillis());
+            logger.debug("Session health after {}: {}", testName, sample);
+            return recycleReason;
+        } catch (Exception e) {
+            return "health probe failed: " + e.getMessage();
+        }
+    }
+
     /**
      * Quits the WebDriver instance for the current thread and removes it from storage.
+     * The quit itself runs on a DriverReaper thread, so this returns immediately.
      */
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
@@ -48,8 +128,12 @@ public class DriverManager {
             long threadId = Thread.currentThread().threadId(); // For logging
              logger.info("Attempting to quit WebDriver for Thread {}.", threadId); // Optional log
             try {
-                driver.quit(); // <<< CRITICAL: Actually close the browser and end the session
-                 logger.info("WebDriver quit successfully for Thread {}.", threadId); // Optional log
+                if (poolingEnabled && DriverPool.getInstance().isManaged(driver)) {
+                    DriverPool.getInstance().discard(driver); // Frees the pool slot as well
+                } else {
+                    DriverReaper.getInstance().reap(driver); // <<< CRITICAL: The reaper closes the browser and ends the session off this thread
+                }
+                 logger.info("WebDriver handed to reaper for Thread {}.", threadId); // Optional log
             } catch (Exception e) {
                 logger.error("Error occurred while quitting WebDriver for Thread {}.", threadId, e); // Optional log
             } finally {
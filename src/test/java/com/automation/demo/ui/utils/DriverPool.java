@@ -0,0 +1,446 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of live WebDriver sessions shared by all TestNG worker threads.
+ * Sessions are borrowed by DriverManager, reset when they are returned and kept
+ * for the next test, so a browser is only launched when no warm session is available.
+ * Sessions are evicted once they reach 'driver.pool.max.uses' or 'driver.pool.max.age.minutes'.
+ * Returned sessions are reset in the background and pre-navigated to the start URL of the test
+ * that last used them, so a follow-up test on the same page (e.g. the next data row) starts on it.
+ * While the AdaptiveParallelismController runs, the pool never holds more sessions than its
+ * current limit plus the spare sessions.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverPool.class);
+    private static final DriverPool INSTANCE = new DriverPool();
+
+    private final BlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> liveSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final ExecutorService recycler;
+
+    private final int configuredSize;
+    private final int spareSessions;
+    private final int maxUses;
+    private final long maxAgeMillis;
+    private final long borrowTimeoutMillis;
+    private int threadCount = 1;
+    private int parallelismLimit;
+    private volatile int maxSize;
+    private volatile boolean shutdown;
+
+    private DriverPool() {
+        this.configuredSize = Integer.parseInt(ConfigReader.getProperty("driver.pool.size", "0").trim());
+        this.spareSessions = Integer.parseInt(ConfigReader.getProperty("driver.pool.spare.sessions", "1").trim());
+        this.maxUses = Integer.parseInt(ConfigReader.getProperty("driver.pool.max.uses", "50").trim());
+        this.maxAgeMillis = TimeUnit.MINUTES.toMillis(Long.parseLong(ConfigReader.getProperty("driver.pool.max.age.minutes", "30").trim()));
+        this.borrowTimeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("driver.pool.borrow.timeout.seconds", "120").trim()));
+        this.maxSize = configuredSize > 0 ? configuredSize : 1 + spareSessions;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.recycler = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-recycler-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+        logger.info("DriverPool initialized. Size: {}, max uses: {}, max age: {} ms.", maxSize, maxUses, maxAgeMillis);
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sizes the pool to the suite's thread-count plus 'driver.pool.spare.sessions', unless
+     * 'driver.pool.size' pins an explicit size. Spare sessions are pre-navigated while the
+     * other sessions are still busy with a test or its teardown.
+     *
+     * @param threadCount The number of TestNG worker threads that can hold a session at the same time.
+     */
+    public synchronized void sizeToThreadCount(int threadCount) {
+        if (configuredSize > 0 || threadCount <= 0 || threadCount == this.threadCount) {
+            return;
+        }
+        logger.info("Sizing DriverPool to suite thread-count {} + {} spare.", threadCount, spareSessions);
+        this.threadCount = threadCount;
+        resize();
+    }
+
+    /**
+     * Caps the pool at the number of tests the AdaptiveParallelismController currently lets run
+     * plus 'driver.pool.spare.sessions'. When the cap drops, idle sessions above it are quit right
+     * away and busy ones when they are returned, so lowering the limit frees their memory.
+     *
+     * @param limit The controller's current limit, or 0 to remove the cap.
+     */
+    public synchronized void limitToParallelism(int limit) {
+        if (limit == parallelismLimit) {
+            return;
+        }
+        parallelismLimit = Math.max(0, limit);
+        resize();
+    }
+
+    /**
+     * Sizes the pool to the worker threads of a TestNG suite: its thread-count when it runs
+     * in parallel, a single session otherwise.
+     *
+     * @param xmlSuite The suite about to run.
+     */
+    public void sizeToSuite(XmlSuite xmlSuite) {
+        boolean parallel = xmlSuite.getParallel() != null && xmlSuite.getParallel() != XmlSuite.ParallelMode.NONE;
+        sizeToThreadCount(parallel ? xmlSuite.getThreadCount() : 1);
+    }
+
+    private void resize() {
+        int size = configuredSize > 0 ? configuredSize : threadCount + spareSessions;
+        if (parallelismLimit > 0) {
+            size = Math.min(size, parallelismLimit + spareSessions);
+        }
+        if (size == maxSize) {
+            return;
+        }
+        logger.info("Resizing DriverPool from {} to {} (parallelism limit {}).", maxSize, size,
+                parallelismLimit > 0 ? String.valueOf(parallelismLimit) : "none");
+        maxSize = size;
+        trimIdle();
+    }
+
+    /**
+     * Quits idle sessions, longest idle first, while the pool holds more than its maximum.
+     */
+    private void trimIdle() {
+        while (liveCount.get() > maxSize) {
+            PooledSession session = idleSessions.pollFirst();
+            if (session == null) {
+                return;
+            }
+            destroy(session, "pool above its maximum of " + maxSize);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Launches one session ahead of demand and parks it in the idle queue, where the next
+     * borrowing worker picks it up. Does nothing when the pool is already full.
+     *
+     * @param startUrl URL to load on the session before parking it, or null to leave it blank.
+     * @return true if a session was created.
+     * @throws Exception If the driver cannot be created.
+     */
+    public boolean prewarm(String startUrl) throws Exception {
+        if (shutdown || !tryReserveSlot()) {
+            return false;
+        }
+        PooledSession session = create();
+        preNavigate(session, startUrl);
+        session.uses = 0;
+        session.prewarmed = true;
+        session.idleSince = System.currentTimeMillis();
+        idleSessions.offerLast(session);
+        return true;
+    }
+
+    /**
+     * Borrows a live session, creating a new browser only when no idle session is
+     * available and the pool is below its maximum size.
+     * An idle session already pre-navigated to the start URL is preferred; otherwise the
+     * session is navigated there before it is returned.
+     *
+     * @param startUrl URL the test starts on, or null to get the session on about:blank.
+     * @return A WebDriver that is exclusively owned by the caller until it is released.
+     * @throws Exception If the driver cannot be created.
+     * @throws IllegalStateException If no session becomes available within 'driver.pool.borrow.timeout.seconds'.
+     */
+    public WebDriver borrow(String startUrl) throws Exception {
+        if (shutdown) {
+            throw new IllegalStateException("DriverPool has been shut down.");
+        }
+        long borrowStart = System.currentTimeMillis();
+        long deadline = borrowStart + borrowTimeoutMillis;
+        while (true) {
+            PooledSession session = takeIdle(startUrl);
+            if (session != null) {
+                if (isExpired(session)) {
+                    destroy(session, "expired while idle");
+                    continue;
+                }
+                session.uses++;
+                if (session.prewarmed && session.uses == 1) {
+                    logHandoff(session, borrowStart);
+                } else {
+                    logger.debug("Reusing pooled WebDriver (use #{}) for Thread {}.", session.uses, Thread.currentThread().threadId());
+                }
+                return handOut(session, startUrl);
+            }
+
+            if (tryReserveSlot()) {
+                return handOut(create(), startUrl);
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out after " + borrowTimeoutMillis + " ms waiting for a pooled WebDriver session.");
+            }
+            // Poll in short slices so a slot freed by an eviction is noticed as well as a returned session
+            session = idleSessions.pollFirst(Math.min(remaining, 500L), TimeUnit.MILLISECONDS);
+            if (session != null) {
+                idleSessions.offerFirst(session);
+            }
+        }
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset and pre-navigated on a background
+     * thread, so the caller is free right away. It is discarded instead if the reset fails or
+     * it has reached its maximum uses or age.
+     *
+     * @param driver The driver previously obtained from {@link #borrow(String)}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = liveSessions.get(driver);
+        if (session == null) {
+            logger.warn("Released WebDriver is not managed by the pool. Quitting it.");
+            DriverReaper.getInstance().reap(driver);
+            return;
+        }
+        if (shutdown) {
+            destroy(session, "pool shut down");
+        } else if (session.uses >= maxUses) {
+            destroy(session, "reached max uses (" + maxUses + ")");
+        } else if (isExpired(session)) {
+            destroy(session, "reached max age");
+        } else if (liveCount.get() > maxSize) {
+            destroy(session, "pool above its maximum of " + maxSize);
+        } else {
+            recycler.execute(() -> recycle(session));
+        }
+    }
+
+    /**
+     * Quits a borrowed session instead of returning it, freeing its slot in the pool.
+     *
+     * @param driver The driver previously obtained from {@link #borrow(String)}.
+     */
+    public void discard(WebDriver driver) {
+        discard(driver, "discarded by caller");
+    }
+
+    /**
+     * Quits a borrowed session instead of returning it, freeing its slot in the pool.
+     *
+     * @param driver The driver previously obtained from {@link #borrow(String)}.
+     * @param reason Why the session is discarded, for the eviction log.
+     */
+    public void discard(WebDriver driver, String reason) {
+        PooledSession session = liveSessions.get(driver);
+        if (session == null) {
+            DriverReaper.getInstance().reap(driver);
+            return;
+        }
+        destroy(session, reason);
+    }
+
+    public boolean isManaged(WebDriver driver) {
+        return driver != null && liveSessions.containsKey(driver);
+    }
+
+    /**
+     * Quits every session owned by the pool and waits for the DriverReaper to finish. Called at JVM shutdown.
+     */
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        recycler.shutdownNow();
+        List<PooledSession> sessions = new ArrayList<>(liveSessions.values());
+        logger.info("Shutting down DriverPool. Quitting {} session(s).", sessions.size());
+        idleSessions.clear();
+        for (PooledSession session : sessions) {
+            destroy(session, "pool shut down");
+        }
+        DriverReaper.getInstance().drain();
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = liveCount.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (liveCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledSession create() throws Exception {
+        try {
+            long start = System.currentTimeMillis();
+            WebDriver driver = DriverFactory.createDriver();
+            PooledSession session = new PooledSession(driver);
+            session.uses = 1;
+            session.startupMillis = System.currentTimeMillis() - start;
+            liveSessions.put(driver, session);
+            logger.info("Created pooled WebDriver in {} ms. Live sessions: {}/{}.",
+                    session.startupMillis, liveCount.get(), maxSize);
+            return session;
+        } catch (Exception e) {
+            liveCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void destroy(PooledSession session, String reason) {
+        if (liveSessions.remove(session.driver) == null) {
+            return;
+        }
+        liveCount.decrementAndGet();
+        logger.info("Evicting pooled WebDriver after {} use(s): {}.", session.uses, reason);
+        DriverReaper.getInstance().reap(session.driver);
+    }
+
+    private PooledSession takeIdle(String startUrl) {
+        if (startUrl != null) {
+            for (PooledSession session : idleSessions) {
+                // remove() only succeeds for one thread, so the session is ours if it returns true
+                if (startUrl.equals(session.preparedUrl) && idleSessions.remove(session)) {
+                    return session;
+                }
+            }
+        }
+        return idleSessions.pollFirst();
+    }
+
+    private WebDriver handOut(PooledSession session, String startUrl) {
+        try {
+            if (startUrl == null) {
+                logger.debug("No start URL requested. Handing out session as is.");
+            } else if (startUrl.equals(session.preparedUrl)) {
+                logger.info("Handing out WebDriver already pre-navigated to {}.", startUrl);
+            } else {
+                session.driver.get(startUrl);
+            }
+        } catch (RuntimeException e) {
+            destroy(session, "navigation to start URL failed");
+            throw e;
+        }
+        session.lastStartUrl = startUrl;
+        session.preparedUrl = null;
+        return session.driver;
+    }
+
+    private void recycle(PooledSession session) {
+        if (!reset(session.driver)) {
+            destroy(session, "reset failed");
+            return;
+        }
+        preNavigate(session, session.lastStartUrl);
+        if (shutdown) {
+            destroy(session, "pool shut down");
+            return;
+        }
+        session.idleSince = System.currentTimeMillis();
+        idleSessions.offerLast(session);
+        // The pool may have shrunk while the session was being reset
+        trimIdle();
+        logger.debug("WebDriver returned to pool. Idle sessions: {}.", idleSessions.size());
+    }
+
+    private void preNavigate(PooledSession session, String startUrl) {
+        if (startUrl == null) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            session.driver.get(startUrl);
+            session.preparedUrl = startUrl;
+            logger.info("Pre-navigated pooled WebDriver to {} in {} ms.", startUrl, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // The session stays usable; the borrower navigates itself
+            logger.warn("Failed to pre-navigate pooled WebDriver to {}: {}", startUrl, e.getMessage());
+        }
+    }
+
+    private void logHandoff(PooledSession session, long borrowStart) {
+        long now = System.currentTimeMillis();
+        long queueWait = now - borrowStart;
+        long idleBeforeHandoff = now - Math.max(session.idleSince, borrowStart);
+        logger.info("Pre-warmed WebDriver handed to Thread {}: startup {} ms, queue wait {} ms, handoff {} ms, saved ~{} ms.",
+                Thread.currentThread().threadId(), session.startupMillis, queueWait, idleBeforeHandoff,
+                Math.max(0L, session.startupMillis - queueWait));
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return System.currentTimeMillis() - session.createdAt >= maxAgeMillis;
+    }
+
+    /**
+     * Brings a session back to a clean state: extra windows closed, cookies and
+     * web storage of the current origin cleared, a script timeout raised by observer waits
+     * restored, and the remaining window on about:blank.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String keepHandle = handles.get(0);
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(keepHandle);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies() only covers the current domain; CDP clears the whole cookie jar
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            }
+            DomEventWait.resetScriptTimeout(driver);
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled WebDriver: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final long createdAt = System.currentTimeMillis();
+        private int uses;
+        private long startupMillis;
+        private long idleSince;
+        private boolean prewarmed;
+        private String lastStartUrl;
+        private volatile String preparedUrl;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
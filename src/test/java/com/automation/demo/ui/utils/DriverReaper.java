@@ -0,0 +1,133 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quits detached WebDriver sessions on background threads so test teardown doesn't wait
+ * for the browser (or the Grid) to shut down.
+ * The queue is bounded by 'driver.reaper.queue.capacity'; when it is full the caller quits
+ * the driver itself. A quit that takes longer than 'driver.reaper.kill.timeout.seconds' is
+ * interrupted and the local driver service process is stopped.
+ * A shutdown hook drains the queue before the JVM exits.
+ */
+public class DriverReaper {
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverReaper.class);
+    private static final DriverReaper INSTANCE = new DriverReaper();
+
+    private final ThreadPoolExecutor reaperExecutor;
+    private final ScheduledExecutorService killTimer;
+    private final long killTimeoutMillis;
+    private final long drainTimeoutMillis;
+
+    private DriverReaper() {
+        int threads = Integer.parseInt(ConfigReader.getProperty("driver.reaper.threads", "2").trim());
+        int queueCapacity = Integer.parseInt(ConfigReader.getProperty("driver.reaper.queue.capacity", "20").trim());
+        this.killTimeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("driver.reaper.kill.timeout.seconds", "15").trim()));
+        this.drainTimeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("driver.reaper.drain.timeout.seconds", "60").trim()));
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.reaperExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "driver-reaper-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Queue full or reaper shut down: quit on the calling thread rather than leak the browser
+                (task, executor) -> task.run());
+        this.killTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-reaper-kill-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "driver-reaper-drain"));
+        logger.info("DriverReaper initialized. Threads: {}, queue capacity: {}, kill timeout: {} ms.",
+                threads, queueCapacity, killTimeoutMillis);
+    }
+
+    public static DriverReaper getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues a detached driver to be quit in the background. The caller must not use the driver afterwards.
+     *
+     * @param driver The driver to quit.
+     */
+    public void reap(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        WaitEngine.forget(driver);
+        reaperExecutor.execute(() -> quit(driver));
+        logger.debug("WebDriver queued for background quit. Pending: {}.", reaperExecutor.getQueue().size());
+    }
+
+    /**
+     * Waits up to 'driver.reaper.drain.timeout.seconds' for queued and in-flight quits to finish.
+     * Drivers reaped after this call are quit on the calling thread.
+     */
+    public void drain() {
+        if (reaperExecutor.isShutdown()) {
+            return;
+        }
+        logger.info("Draining DriverReaper. Pending quits: {}, in flight: {}.",
+                reaperExecutor.getQueue().size(), reaperExecutor.getActiveCount());
+        reaperExecutor.shutdown();
+        try {
+            if (!reaperExecutor.awaitTermination(drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("DriverReaper did not drain within {} ms. {} quit(s) abandoned.",
+                        drainTimeoutMillis, reaperExecutor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reaperExecutor.shutdownNow();
+        } finally {
+            killTimer.shutdownNow();
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        long start = System.currentTimeMillis();
+        Thread quittingThread = Thread.currentThread();
+        ScheduledFuture<?> hardKill = killTimer.isShutdown()
+                ? null
+                : killTimer.schedule(() -> hardKill(driver, quittingThread), killTimeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            driver.quit();
+            logger.info("WebDriver quit in background in {} ms.", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error occurred while quitting WebDriver in background.", e);
+        } finally {
+            if (hardKill != null) {
+                hardKill.cancel(false);
+            }
+            DriverFactory.removeDriverService(driver);
+            Thread.interrupted(); // Clear an interrupt from a hard kill that raced with a normal quit
+        }
+    }
+
+    private void hardKill(WebDriver driver, Thread quittingThread) {
+        logger.warn("WebDriver quit exceeded {} ms. Forcing shutdown.", killTimeoutMillis);
+        DriverService service = DriverFactory.removeDriverService(driver);
+        if (service != null) {
+            try {
+                service.stop();
+            } catch (Exception e) {
+                logger.error("Failed to stop driver service during forced shutdown.", e);
+            }
+        }
+        quittingThread.interrupt();
+    }
+}
@@ -0,0 +1,122 @@
+package com.automation.demo.ui.utils;
+
+import lombok.Value;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of one element read in a single script call: presence, visibility,
+ * enabled/selected state, visible text, value and any requested attributes.
+ * Assertions on a snapshot cause no further browser traffic.
+ */
+@Value
+public class ElementSnapshot {
+
+    private static final String CAPTURE_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.IS_VISIBLE_FUNCTION
+            + "var targets = arguments[0], attributes = arguments[1];"
+            + "return targets.map(function (target) {"
+            + "  var el = target.element || findByLocator(target.using, target.selector);"
+            + "  if (!el || !el.isConnected) { return { present: false }; }"
+            + "  var displayed = isVisible(el);"
+            + "  var values = {};"
+            + "  attributes.forEach(function (name) {"
+            + "    var property = el[name];"
+            + "    var simple = property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function';"
+            + "    values[name] = simple ? String(property) : el.getAttribute(name);"
+            + "  });"
+            + "  return {"
+            + "    present: true,"
+            + "    displayed: displayed,"
+            + "    enabled: !el.disabled,"
+            + "    selected: !!(el.checked || el.selected),"
+            + "    text: displayed ? (el.innerText || '').trim() : '',"
+            + "    value: el.value === undefined || el.value === null ? null : String(el.value),"
+            + "    attributes: values"
+            + "  };"
+            + "});";
+
+    /** The locator or element description the snapshot was taken of. */
+    String source;
+    boolean present;
+    boolean displayed;
+    boolean enabled;
+    boolean selected;
+    String text;
+    String value;
+    Map<String, String> attributes;
+
+    /**
+     * @param name The attribute or property name requested when the snapshot was taken.
+     * @return Its value, or null if it wasn't requested or isn't set.
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * Captures several elements in one executeScript call.
+     * By locators using CSS or XPath (including By.id, By.name, By.className) are resolved in the
+     * page; other locators cost one findElement each, and a missing element yields a snapshot with
+     * present=false instead of an exception.
+     *
+     * @param driver The driver.
+     * @param targets By locators and/or WebElements.
+     * @param attributes Attribute or property names to read from every element.
+     * @return One snapshot per target, in order.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ElementSnapshot> capture(WebDriver driver, List<?> targets, String... attributes) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (Object target : targets) {
+            Map<String, Object> spec = new LinkedHashMap<>();
+            String[] scriptLocator = target instanceof By ? PageScripts.toScriptLocator((By) target) : null;
+            if (scriptLocator != null) {
+                spec.put("using", scriptLocator[0]);
+                spec.put("selector", scriptLocator[1]);
+            } else if (target instanceof By) {
+                List<WebElement> found = driver.findElements((By) target);
+                spec.put("element", found.isEmpty() ? null : found.get(0));
+            } else if (target instanceof WebElement) {
+                spec.put("element", target);
+            } else {
+                throw new IllegalArgumentException("Snapshot targets must be By locators or WebElements, got: " + target);
+            }
+            specs.add(spec);
+        }
+
+        List<Map<String, Object>> states = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_SCRIPT, specs, Arrays.asList(attributes));
+        List<ElementSnapshot> snapshots = new ArrayList<>(states.size());
+        for (int i = 0; i < states.size(); i++) {
+            snapshots.add(fromScriptResult(String.valueOf(targets.get(i)), states.get(i)));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ElementSnapshot fromScriptResult(String source, Map<String, Object> state) {
+        if (!Boolean.TRUE.equals(state.get("present"))) {
+            return new ElementSnapshot(source, false, false, false, false, null, null, Collections.emptyMap());
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        ((Map<String, Object>) state.get("attributes")).forEach((name, value) -> attributes.put(name, value == null ? null : String.valueOf(value)));
+        return new ElementSnapshot(source, true,
+                Boolean.TRUE.equals(state.get("displayed")),
+                Boolean.TRUE.equals(state.get("enabled")),
+                Boolean.TRUE.equals(state.get("selected")),
+                (String) state.get("text"),
+                (String) state.get("value"),
+                Collections.unmodifiableMap(attributes));
+    }
+}
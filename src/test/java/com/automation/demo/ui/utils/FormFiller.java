@@ -0,0 +1,293 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fills a whole form in one async script call: every field is located and validated first
+ * (present, visible, editable, supported, option exists), and only if all are valid are they
+ * filled (native value setters plus focus/input/change/blur events, like TextEntry's FAST mode),
+ * verified after 'text.entry.fast.settle.ms' and, optionally, the form is submitted by clicking
+ * the submit element. Fields whose value the page didn't keep are typed afterwards, in which case
+ * the submit element is clicked natively. The result reports the outcome per field.
+ * Supported fields: text-like inputs, text areas, selects (option value or text),
+ * checkboxes/radios ("true"/"false") and contenteditable elements. Field targets are By
+ * locators (CSS or XPath based ones cost no extra round trip) or WebElements.
+ */
+public class FormFiller {
+
+    private static final Logger logger = LoggerUtil.getLogger(FormFiller.class);
+
+    private static final long settleMillis = Long.parseLong(ConfigReader.getProperty("text.entry.fast.settle.ms", "20").trim());
+
+    /**
+     * Outcome of one field. FILLED and TYPED are successes; SKIPPED fields were valid but not
+     * filled because another field failed validation.
+     */
+    public enum FieldStatus {
+        FILLED, TYPED, SKIPPED, NOT_FOUND, NOT_VISIBLE, NOT_EDITABLE, UNSUPPORTED, NO_SUCH_OPTION, NOT_KEPT;
+
+        public boolean isSuccess() {
+            return this == FILLED || this == TYPED;
+        }
+
+        /**
+         * @return Whether the failure can go away while the page is still loading.
+         */
+        public boolean isTransient() {
+            return this == NOT_FOUND || this == NOT_VISIBLE || this == NOT_EDITABLE;
+        }
+    }
+
+    private static final String FILL_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.IS_VISIBLE_FUNCTION
+            + "var callback = arguments[arguments.length - 1];"
+            + "var specs = arguments[0], submit = arguments[1], settle = arguments[2];"
+            + "function locate(spec) { return spec.element || (spec.using ? findByLocator(spec.using, spec.selector) : null); }"
+            + "function kind(el) {"
+            + "  if (el instanceof HTMLTextAreaElement) { return 'text'; }"
+            + "  if (el instanceof HTMLSelectElement) { return 'select'; }"
+            + "  if (el instanceof HTMLInputElement) {"
+            + "    if (/^(checkbox|radio)$/.test(el.type)) { return 'check'; }"
+            + "    return /^(text|search|email|url|tel|password|number|date|time|datetime-local|month|week|color|range)$/.test(el.type) ? 'text' : null;"
+            + "  }"
+            + "  return el.isContentEditable ? 'editable' : null;"
+            + "}"
+            + "function option(select, value) {"
+            + "  for (var i = 0; i < select.options.length; i++) {"
+            + "    var o = select.options[i];"
+            + "    if (o.value === value || o.text.trim() === value) { return o; }"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "function expected(field, value) {"
+            + "  if (field.kind === 'select') { return option(field.el, value).value; }"
+            + "  if (field.kind === 'check') { return value === 'true'; }"
+            + "  return value;"
+            + "}"
+            + "function read(field) {"
+            + "  var el = field.el;"
+            + "  if (field.kind === 'check') { return el.checked; }"
+            + "  return field.kind === 'editable' ? el.textContent : el.value;"
+            + "}"
+            + "function fire(el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); }"
+            + "function fill(field, value) {"
+            + "  var el = field.el;"
+            + "  if (field.kind === 'check') { if (el.checked !== (value === 'true')) { el.click(); } return; }"
+            + "  el.focus();"
+            + "  if (field.kind === 'editable') {"
+            + "    el.textContent = value;"
+            + "  } else {"
+            + "    var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "        : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;"
+            + "    Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, expected(field, value));"
+            + "  }"
+            + "  el.dispatchEvent(new InputEvent('input', { bubbles: true, inputType: 'insertText', data: value }));"
+            + "  fire(el, 'change');"
+            + "  el.blur();"
+            + "}"
+            + "var fields = specs.map(function (spec) {"
+            + "  var el = locate(spec);"
+            + "  if (!el || !el.isConnected) { return { status: 'NOT_FOUND' }; }"
+            + "  var k = kind(el);"
+            + "  if (!k) { return { status: 'UNSUPPORTED', el: el, detail: el.tagName.toLowerCase() + (el.type ? '[' + el.type + ']' : '') }; }"
+            + "  if (!isVisible(el)) { return { status: 'NOT_VISIBLE', el: el }; }"
+            + "  if (el.disabled || el.readOnly) { return { status: 'NOT_EDITABLE', el: el }; }"
+            + "  if (k === 'select' && !option(el, spec.value)) { return { status: 'NO_SUCH_OPTION', el: el, detail: spec.value }; }"
+            + "  return { status: 'SKIPPED', el: el, kind: k };"
+            + "});"
+            + "function report(submitted) {"
+            + "  return { submitted: submitted, fields: fields.map(function (field) {"
+            + "    return { status: field.status, detail: field.detail || null, kind: field.kind || null, element: field.status === 'NOT_KEPT' ? field.el : null };"
+            + "  }) };"
+            + "}"
+            + "if (!fields.every(function (field) { return field.status === 'SKIPPED'; })) { callback(report(false)); return; }"
+            + "fields.forEach(function (field, i) { fill(field, specs[i].value); });"
+            + "setTimeout(function () {"
+            + "  fields.forEach(function (field, i) { field.status = read(field) === expected(field, specs[i].value) ? 'FILLED' : 'NOT_KEPT'; });"
+            + "  var submitted = false;"
+            + "  if (submit && fields.every(function (field) { return field.status === 'FILLED'; })) {"
+            + "    var button = locate(submit);"
+            + "    if (button) { button.click(); submitted = true; }"
+            + "  }"
+            + "  callback(report(submitted));"
+            + "}, settle);";
+
+    private FormFiller() {
+    }
+
+    /**
+     * Fills the fields in one script call and optionally submits the form.
+     *
+     * @param driver The driver.
+     * @param fields Field target (By or WebElement) to value, in fill order.
+     * @param submit The element to click once every field is filled (By or WebElement), or null.
+     * @return The outcome per field.
+     */
+    @SuppressWarnings("unchecked")
+    public static FormFillResult fill(WebDriver driver, Map<?, String> fields, Object submit) {
+        List<Object> targets = new ArrayList<>(fields.keySet());
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (Object target : targets) {
+            if (fields.get(target) == null) {
+                throw new IllegalArgumentException("No value given for form field " + target);
+            }
+            Map<String, Object> spec = toSpec(driver, target);
+            spec.put("value", fields.get(target));
+            specs.add(spec);
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, Object> response = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(FILL_SCRIPT,
+                specs, submit == null ? null : toSpec(driver, submit), settleMillis);
+        List<Map<String, Object>> reported = (List<Map<String, Object>>) response.get("fields");
+        boolean submitted = Boolean.TRUE.equals(response.get("submitted"));
+
+        Map<Object, FieldResult> results = new LinkedHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Map<String, Object> field = reported.get(i);
+            FieldStatus status = FieldStatus.valueOf((String) field.get("status"));
+            if (status == FieldStatus.NOT_KEPT && "text".equals(field.get("kind"))) {
+                // The page's framework only reacts to real key events for this field
+                WebElement element = (WebElement) field.get("element");
+                TextEntry.enter(driver, element, fields.get(targets.get(i)), TextEntry.TextEntryMode.TYPE);
+                status = FieldStatus.TYPED;
+            }
+            results.put(targets.get(i), new FieldResult(targets.get(i), status, (String) field.get("detail")));
+        }
+        FormFillResult result = new FormFillResult(Collections.unmodifiableMap(results), submitted);
+        if (submit != null && !submitted && result.isSuccess()) {
+            click(driver, submit);
+            result = new FormFillResult(result.fields, true);
+        }
+        logger.info("Filled {} field(s) in {} ms: {}", targets.size(), System.currentTimeMillis() - start, result);
+        return result;
+    }
+
+    private static Map<String, Object> toSpec(WebDriver driver, Object target) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        String[] scriptLocator = target instanceof By ? PageScripts.toScriptLocator((By) target) : null;
+        if (scriptLocator != null) {
+            spec.put("using", scriptLocator[0]);
+            spec.put("selector", scriptLocator[1]);
+        } else if (target instanceof By) {
+            List<WebElement> found = driver.findElements((By) target);
+            spec.put("element", found.isEmpty() ? null : found.get(0));
+        } else if (target instanceof WebElement) {
+            spec.put("element", target);
+        } else {
+            throw new IllegalArgumentException("Form fields must be By locators or WebElements, got: " + target);
+        }
+        return spec;
+    }
+
+    private static void click(WebDriver driver, Object submit) {
+        WebElement button = submit instanceof By ? driver.findElement((By) submit) : (WebElement) submit;
+        try {
+            button.click();
+        } catch (ElementClickInterceptedException e) {
+            logger.warn("Native submit click intercepted: Attempting javascript click " + e.getMessage());
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", button);
+        }
+    }
+
+    /**
+     * Outcome of one field.
+     */
+    public static class FieldResult {
+        private final Object target;
+        private final FieldStatus status;
+        private final String detail;
+
+        private FieldResult(Object target, FieldStatus status, String detail) {
+            this.target = target;
+            this.status = status;
+            this.detail = detail;
+        }
+
+        public Object getTarget() {
+            return target;
+        }
+
+        public FieldStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public String toString() {
+            return target + "=" + status + (detail == null ? "" : " (" + detail + ")");
+        }
+    }
+
+    /**
+     * Outcome of a form fill: the result per field, in fill order, and whether the form was submitted.
+     */
+    public static class FormFillResult {
+        private static final Set<FieldStatus> NOT_FAILURES = EnumSet.of(FieldStatus.FILLED, FieldStatus.TYPED, FieldStatus.SKIPPED);
+
+        private final Map<Object, FieldResult> fields;
+        private final boolean submitted;
+
+        private FormFillResult(Map<Object, FieldResult> fields, boolean submitted) {
+            this.fields = fields;
+            this.submitted = submitted;
+        }
+
+        public Map<Object, FieldResult> getFields() {
+            return fields;
+        }
+
+        public boolean isSubmitted() {
+            return submitted;
+        }
+
+        public boolean isSuccess() {
+            return fields.values().stream().allMatch(field -> field.status.isSuccess());
+        }
+
+        /**
+         * @return The fields that failed; valid fields skipped because of them are not included.
+         */
+        public List<FieldResult> getFailures() {
+            return fields.values().stream().filter(field -> !NOT_FAILURES.contains(field.status)).collect(Collectors.toList());
+        }
+
+        /**
+         * @return Whether every failure is one that can't resolve itself by waiting for the page.
+         */
+        public boolean isSettled() {
+            return getFailures().stream().noneMatch(field -> field.status.isTransient());
+        }
+
+        /**
+         * @return This result.
+         * @throws WebDriverException Listing the failed fields, if any field was not filled.
+         */
+        public FormFillResult requireSuccess() {
+            if (!isSuccess()) {
+                throw new WebDriverException("Form was not filled, failed field(s): " + getFailures());
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return (submitted ? "submitted " : "") + fields.values();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side admission control for new sessions on a Selenium Grid.
+ * Polls the Grid's /status endpoint and lets a session request through only while the Grid
+ * reports a free slot for the requested browser, so excess requests wait here in FIFO order
+ * instead of timing out inside the Grid's new-session queue.
+ * Granted requests count against the free slots until {@link #release(String)} is called
+ * after the session has been created.
+ */
+public class GridCapacityScheduler {
+
+    private static final Logger logger = LoggerUtil.getLogger(GridCapacityScheduler.class);
+    private static final Map<String, GridCapacityScheduler> schedulers = new ConcurrentHashMap<>();
+
+    private final URI statusUri;
+    private final long pollMillis;
+    private final long timeoutMillis;
+    private final HttpClient httpClient;
+    private final Json json = new Json();
+
+    // One fair lock per browser: the longest-waiting request is always the next one admitted
+    private final Map<String, ReentrantLock> admissionLocks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong grantedRequests = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private volatile Map<String, Object> lastStatus;
+    private volatile long lastPollAt;
+
+    /**
+     * @param gridUrl The Grid's base URL, e.g. http://localhost:4444.
+     * @param pollMillis Minimum interval between /status requests.
+     * @param timeoutMillis How long a request may wait for a free slot.
+     */
+    public GridCapacityScheduler(URI gridUrl, long pollMillis, long timeoutMillis) {
+        String base = gridUrl.toString().replaceAll("/+$", "");
+        this.statusUri = URI.create(base + "/status");
+        this.pollMillis = pollMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Returns the shared scheduler for a Grid, configured from 'grid.scheduler.*' properties.
+     *
+     * @param gridUrl The Grid's base URL.
+     * @return The scheduler for that Grid.
+     */
+    public static GridCapacityScheduler forGrid(URI gridUrl) {
+        return schedulers.computeIfAbsent(gridUrl.toString(), url -> new GridCapacityScheduler(gridUrl,
+                Long.parseLong(ConfigReader.getProperty("grid.scheduler.poll.ms", "1000").trim()),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigReader.getProperty("grid.scheduler.timeout.seconds", "300").trim()))));
+    }
+
+    /**
+     * Blocks until the Grid has a free slot for the browser that isn't already claimed by
+     * another granted request, then claims it.
+     *
+     * @param browserName The browser name, as in the Grid slot stereotypes ("MicrosoftEdge") or the
+     * 'browser' property ("edge").
+     * @throws InterruptedException If the waiting thread is interrupted.
+     * @throws IllegalStateException If no slot becomes free within the timeout.
+     */
+    public void acquire(String browserName) throws InterruptedException {
+        String browser = normalize(browserName);
+        ReentrantLock lock = admissionLocks.computeIfAbsent(browser, b -> new ReentrantLock(true));
+        AtomicInteger claimed = inFlight.computeIfAbsent(browser, b -> new AtomicInteger());
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+
+        if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Timed out after " + timeoutMillis + " ms queued for a free '" + browser + "' slot on " + statusUri);
+        }
+        try {
+            while (true) {
+                int free = freeSlots(browser) - claimed.get();
+                if (free > 0) {
+                    claimed.incrementAndGet();
+                    long waited = System.currentTimeMillis() - start;
+                    grantedRequests.incrementAndGet();
+                    totalWaitMillis.addAndGet(waited);
+                    maxWaitMillis.accumulateAndGet(waited, Math::max);
+                    logger.info("Grid slot granted for '{}' after {} ms queue wait. Free: {}, still queued: {}.",
+                            browser, waited, free - 1, lock.getQueueLength());
+                    return;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + timeoutMillis + " ms waiting for a free '" + browser + "' slot on " + statusUri);
+                }
+                logger.debug("No free '{}' slot on the Grid. {} request(s) queued behind this one.", browser, lock.getQueueLength());
+                Thread.sleep(Math.min(remaining, pollMillis));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a claim made by {@link #acquire(String)} once the session request has completed
+     * (successfully or not). A created session shows up as occupied in the Grid status from then on.
+     *
+     * @param browserName The browser name passed to acquire.
+     */
+    public void release(String browserName) {
+        AtomicInteger claimed = inFlight.get(normalize(browserName));
+        if (claimed != null) {
+            claimed.updateAndGet(count -> Math.max(0, count - 1));
+        }
+        lastPollAt = 0L; // The cached status predates the new session; re-read it on the next acquire
+    }
+
+    public long getGrantedRequests() {
+        return grantedRequests.get();
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+
+    public double getAverageWaitMillis() {
+        long granted = grantedRequests.get();
+        return granted == 0 ? 0.0 : (double) totalWaitMillis.get() / granted;
+    }
+
+    public int getQueueLength(String browserName) {
+        ReentrantLock lock = admissionLocks.get(normalize(browserName));
+        return lock == null ? 0 : lock.getQueueLength();
+    }
+
+    /**
+     * @return The browser name in lower case, with the aliases of Edge ("edge", "msedge") mapped to
+     * the W3C name "microsoftedge" that Grid stereotypes use.
+     */
+    static String normalize(String browserName) {
+        String browser = browserName.trim().toLowerCase(Locale.ROOT);
+        return browser.equals("edge") || browser.equals("msedge") ? "microsoftedge" : browser;
+    }
+
+    /**
+     * Counts slots whose stereotype matches the browser and that have no session, on nodes that are UP.
+     * Returns 0 when the status endpoint cannot be read, so requests keep waiting until the timeout.
+     */
+    @SuppressWarnings("unchecked")
+    int freeSlots(String browser) {
+        Map<String, Object> status = pollStatus();
+        if (status == null) {
+            return 0;
+        }
+        Map<String, Object> value = (Map<String, Object>) status.get("value");
+        if (value == null || !(value.get("nodes") instanceof List)) {
+            return 0;
+        }
+        int free = 0;
+        for (Map<String, Object> node : (List<Map<String, Object>>) value.get("nodes")) {
+            if (!"UP".equalsIgnoreCase(String.valueOf(node.get("availability"))) || !(node.get("slots") instanceof List)) {
+                continue;
+            }
+            for (Map<String, Object> slot : (List<Map<String, Object>>) node.get("slots")) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                boolean matches = stereotype != null && normalize(browser).equals(normalize(String.valueOf(stereotype.get("browserName"))));
+                if (matches && slot.get("session") == null) {
+                    free++;
+                }
+            }
+        }
+        return free;
+    }
+
+    private synchronized Map<String, Object> pollStatus() {
+        if (lastStatus != null && System.currentTimeMillis() - lastPollAt < pollMillis) {
+            return lastStatus;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(statusUri).timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.warn("Grid status {} returned HTTP {}.", statusUri, response.statusCode());
+                lastStatus = null;
+            } else {
+                lastStatus = json.toType(response.body(), Json.MAP_TYPE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastStatus = null;
+        } catch (Exception e) {
+            logger.warn("Failed to read Grid status from {}: {}", statusUri, e.getMessage());
+            lastStatus = null;
+        }
+        lastPollAt = System.currentTimeMillis();
+        return lastStatus;
+    }
+}
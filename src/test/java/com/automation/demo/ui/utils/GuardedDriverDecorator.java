@@ -0,0 +1,123 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Event firing decorator of every driver created by DriverFactory. Refuses WebDriver commands once
+ * the running test's time budget is spent (see TestDeadline), adds the time of every command to its
+ * breakdown, and reports every command to the CallWatchdog, which aborts the session when one hangs:
+ * it stops the driver service process of a local driver or deletes the Grid session of a remote one.
+ * Listener exceptions are only logged by EventFiringDecorator, hence a decorator rather than a listener.
+ */
+public class GuardedDriverDecorator extends EventFiringDecorator<WebDriver> {
+
+    private static final Logger logger = LoggerUtil.getLogger(GuardedDriverDecorator.class);
+
+    // Answered locally, or needed to clean up after a failed test
+    private static final Set<String> EXEMPT_CALLS = Set.of("toString", "hashCode", "equals", "quit", "close",
+            "getWrappedDriver", "getWrappedElement", "getSessionId");
+    private static final int MAX_ARGUMENT_LENGTH = 80;
+
+    private final ThreadLocal<Deque<CallWatchdog.Call>> calls = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile WebDriver driver;
+
+    public GuardedDriverDecorator(WebDriverListener... listeners) {
+        super(listeners);
+    }
+
+    /**
+     * @param driver The decorated driver, i.e. the one DriverFactory keeps the driver service of.
+     */
+    public void bind(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void beforeCall(Decorated<?> target, Method method, Object[] args) {
+        if (!EXEMPT_CALLS.contains(method.getName())) {
+            TestDeadline.check("sending WebDriver command " + method.getName());
+            calls.get().push(CallWatchdog.getInstance().begin(CallWatchdog.CallType.DRIVER, describe(method, args), this::abort));
+        }
+        super.beforeCall(target, method, args);
+    }
+
+    @Override
+    public void afterCall(Decorated<?> target, Method method, Object[] args, Object result) {
+        endCall(method, null);
+        super.afterCall(target, method, args, result);
+    }
+
+    @Override
+    public Object onError(Decorated<?> target, Method method, Object[] args, InvocationTargetException e) throws Throwable {
+        endCall(method, e.getTargetException());
+        return super.onError(target, method, args, e);
+    }
+
+    private void endCall(Method method, Throwable error) {
+        if (EXEMPT_CALLS.contains(method.getName()) || calls.get().isEmpty()) {
+            return;
+        }
+        CallWatchdog.Call call = calls.get().pop();
+        TestDeadline.record("driver " + method.getName(), System.nanoTime() - call.getStartNanos());
+        CallWatchdog.getInstance().end(call, error);
+    }
+
+    private static String describe(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return method.getName();
+        }
+        String argument = String.valueOf(args[0]).replaceAll("\\s+", " ");
+        if (argument.length() > MAX_ARGUMENT_LENGTH) {
+            argument = argument.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+        }
+        return method.getName() + "(" + argument + (args.length > 1 ? ", ..." : "") + ")";
+    }
+
+    /**
+     * Runs on the watchdog thread: ends the session under the hung command, which makes the command fail.
+     */
+    private void abort() {
+        WebDriver bound = driver;
+        DriverService service = bound == null ? null : DriverFactory.removeDriverService(bound);
+        if (service != null) {
+            logger.warn("Stopping the driver service of the hung session.");
+            service.stop();
+            return;
+        }
+        WebDriver original = getDecoratedDriver().getOriginal();
+        String gridUrl = ConfigReader.getProperty("selenium.grid.url", "").trim();
+        if (!(original instanceof RemoteWebDriver) || !"remote".equalsIgnoreCase(ConfigReader.getProperty("run.mode", "local").trim()) || gridUrl.isEmpty()) {
+            logger.warn("No driver service or Grid session to end for the hung session; only interrupting its thread.");
+            return;
+        }
+        SessionId sessionId = ((RemoteWebDriver) original).getSessionId();
+        if (sessionId == null) {
+            return;
+        }
+        ClientConfig config = ClientConfig.defaultConfig().baseUri(URI.create(gridUrl)).readTimeout(Duration.ofSeconds(30));
+        try (HttpClient client = HttpClient.Factory.createDefault().createClient(config)) {
+            HttpResponse response = client.execute(new HttpRequest(HttpMethod.DELETE, "/session/" + sessionId));
+            logger.warn("Deleted hung Grid session {}: HTTP {}.", sessionId, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.automation.demo.ui.utils;
+
+import com.automation.demo.ui.utils.ActionabilityCheck.Interaction;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per page object and locator, which click interaction worked (native, scroll then
+ * native, label, JavaScript) and how reliably, so later clicks - including in later runs - go straight to
+ * the working interaction without the actionability check. The store is a properties file
+ * ('interaction.cache.file', under target/ by default) loaded at startup and saved at JVM
+ * shutdown. Counts decay with a half-life of 'interaction.cache.half.life.days', and a failed
+ * learned interaction falls back to the actionability check and is re-learned from its outcome.
+ * Only targets with a stable description are learned: By locators and page object fields.
+ */
+public class InteractionStrategyCache {
+
+    private static final Logger logger = LoggerUtil.getLogger(InteractionStrategyCache.class);
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("interaction.cache.enabled", true);
+    private static final Path storeFile = Path.of(ConfigReader.getProperty("interaction.cache.file", "target/interaction-strategies.properties"));
+    private static final double halfLifeDays = Double.parseDouble(ConfigReader.getProperty("interaction.cache.half.life.days", "7").trim());
+    private static final double minSamples = Double.parseDouble(ConfigReader.getProperty("interaction.cache.min.samples", "2").trim());
+    private static final double minSuccessRate = Double.parseDouble(ConfigReader.getProperty("interaction.cache.min.success.rate", "0.8").trim());
+    // Entries whose decayed attempts fall below this are forgotten
+    private static final double FORGET_BELOW = 0.1;
+    // Decay between two clicks shaves a little off the counts; don't let that cost a sample
+    private static final double SAMPLE_TOLERANCE = 0.01;
+
+    // After the settings above, which the constructor reads
+    private static final InteractionStrategyCache INSTANCE = new InteractionStrategyCache();
+
+    private static final String SCROLL_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + "var el = arguments[0] || findByLocator(arguments[1], arguments[2]);"
+            + "if (el) { el.scrollIntoView({ block: 'center', inline: 'center' }); }"
+            + "return el;";
+
+    private static final String LABEL_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + "var el = arguments[0] || findByLocator(arguments[1], arguments[2]);"
+            + "return el && el.labels && el.labels.length ? el.labels[0] : null;";
+
+    private static final String JS_CLICK_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + "var el = arguments[0] || findByLocator(arguments[1], arguments[2]);"
+            + "if (!el || !el.isConnected) { return false; }"
+            + "el.click();"
+            + "return true;";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private InteractionStrategyCache() {
+        if (enabled) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save, "interaction-cache-save"));
+        }
+    }
+
+    public static InteractionStrategyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Clicks the target with the interaction learned for it, or through the actionability check
+     * (learning from its outcome) when nothing reliable is known or the learned interaction fails.
+     * Fallback clicks are learned too, so a hidden check box clicked through its label or with
+     * JavaScript skips the hidden grace period on later clicks.
+     *
+     * @param driver The driver.
+     * @param target A By locator or WebElement.
+     * @param timeoutSeconds How long the actionability check waits for a missing or disabled element.
+     * @param scope The page object the click belongs to.
+     */
+    public void click(WebDriver driver, Object target, int timeoutSeconds, String scope) {
+        String key = enabled ? key(scope, target) : null;
+        Entry entry = key == null ? null : entries.get(key);
+        Interaction learned = entry == null ? null : entry.best();
+        if (learned != null) {
+            boolean worked = tryInteraction(driver, target, learned);
+            entry.record(learned, worked);
+            if (worked) {
+                ActionabilityCheck.record("learned " + learned);
+                return;
+            }
+            logger.info("Learned {} click failed for {}, re-checking actionability.", learned, key);
+        }
+        // The single fallback path: the check returns the interaction that clicked, including the
+        // label or JavaScript click of a covered or hidden element, and only throws if nothing could
+        Interaction used = ActionabilityCheck.click(driver, target, timeoutSeconds, scope);
+        if (key != null) {
+            entries.computeIfAbsent(key, k -> new Entry()).record(used, true);
+        }
+    }
+
+    /**
+     * @return The learned entries, by "PageObject|locator".
+     */
+    public Map<String, String> getEntries() {
+        Map<String, String> view = new TreeMap<>();
+        entries.forEach((key, entry) -> view.put(key, entry.toString()));
+        return view;
+    }
+
+    private static String key(String scope, Object target) {
+        return CachingElementLocatorFactory.hasStableDescription(target) ? scope + "|" + target : null;
+    }
+
+    private static boolean tryInteraction(WebDriver driver, Object target, Interaction interaction) {
+        WebElement element = target instanceof WebElement ? (WebElement) target : null;
+        String[] scriptLocator = target instanceof By ? PageScripts.toScriptLocator((By) target) : null;
+        if (element == null && scriptLocator == null) {
+            // Locators the page can't resolve
+            element = driver.findElements((By) target).stream().findFirst().orElse(null);
+            if (element == null) {
+                return false;
+            }
+        }
+        String using = scriptLocator == null ? null : scriptLocator[0];
+        String selector = scriptLocator == null ? null : scriptLocator[1];
+        try {
+            switch (interaction) {
+                case JAVASCRIPT:
+                    return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(JS_CLICK_SCRIPT, element, using, selector));
+                case LABEL:
+                    WebElement label = (WebElement) ((JavascriptExecutor) driver).executeScript(LABEL_SCRIPT, element, using, selector);
+                    if (label == null) {
+                        return false;
+                    }
+                    label.click();
+                    return true;
+                case SCROLL_NATIVE:
+                    element = (WebElement) ((JavascriptExecutor) driver).executeScript(SCROLL_SCRIPT, element, using, selector);
+                    if (element == null) {
+                        return false;
+                    }
+                    element.click();
+                    return true;
+                default:
+                    if (element == null) {
+                        element = driver.findElement((By) target);
+                    }
+                    element.click();
+                    return true;
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Learned {} click failed: {}", interaction, e.getMessage());
+            return false;
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read interaction strategy cache {}: {}", storeFile, e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String key : properties.stringPropertyNames()) {
+            Entry entry = Entry.parse(properties.getProperty(key), now);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        logger.info("Loaded {} learned click interaction(s) from {}.", entries.size(), storeFile);
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        entries.forEach((key, entry) -> {
+            if (entry.attempts() >= FORGET_BELOW) {
+                properties.setProperty(key, entry.format());
+            }
+        });
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Learned click interactions per page object and locator: interaction=successes/attempts,...;updated=epoch millis");
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save interaction strategy cache {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Decayed success and attempt counts per interaction for one page object locator.
+     */
+    private static class Entry {
+        private final Map<Interaction, double[]> counts = new EnumMap<>(Interaction.class); // {successes, attempts}
+        private long updated = System.currentTimeMillis();
+
+        private synchronized void record(Interaction interaction, boolean success) {
+            decay(System.currentTimeMillis());
+            double[] count = counts.computeIfAbsent(interaction, i -> new double[2]);
+            count[0] += success ? 1 : 0;
+            count[1] += 1;
+        }
+
+        /**
+         * @return The most reliable interaction with enough samples and a high enough success rate
+         * (ties go to the more native one), or null.
+         */
+        private synchronized Interaction best() {
+            Interaction best = null;
+            double bestRate = 0;
+            for (Map.Entry<Interaction, double[]> entry : counts.entrySet()) {
+                double[] count = entry.getValue();
+                double rate = count[1] == 0 ? 0 : count[0] / count[1];
+                if (count[1] + SAMPLE_TOLERANCE >= minSamples && rate >= minSuccessRate && rate > bestRate) {
+                    best = entry.getKey();
+                    bestRate = rate;
+                }
+            }
+            return best;
+        }
+
+        private synchronized double attempts() {
+            return counts.values().stream().mapToDouble(count -> count[1]).sum();
+        }
+
+        private void decay(long now) {
+            double factor = Math.pow(0.5, (now - updated) / (halfLifeDays * 86_400_000d));
+            counts.values().forEach(count -> {
+                count[0] *= factor;
+                count[1] *= factor;
+            });
+            counts.values().removeIf(count -> count[1] < FORGET_BELOW);
+            updated = now;
+        }
+
+        private synchronized String format() {
+            StringBuilder value = new StringBuilder();
+            counts.forEach((interaction, count) -> value.append(interaction).append('=')
+                    .append(String.format(Locale.ROOT, "%.3f/%.3f", count[0], count[1])).append(','));
+            return value.append(";updated=").append(updated).toString();
+        }
+
+        private static Entry parse(String value, long now) {
+            try {
+                String[] parts = value.split(";updated=");
+                Entry entry = new Entry();
+                entry.updated = Long.parseLong(parts[1].trim());
+                for (String item : parts[0].split(",")) {
+                    if (item.isBlank()) {
+                        continue;
+                    }
+                    String[] pair = item.split("=");
+                    String[] numbers = pair[1].split("/");
+                    entry.counts.put(Interaction.valueOf(pair[0].trim()),
+                            new double[]{Double.parseDouble(numbers[0]), Double.parseDouble(numbers[1])});
+                }
+                entry.decay(now);
+                return entry.counts.isEmpty() ? null : entry;
+            } catch (RuntimeException e) {
+                logger.debug("Ignoring unreadable interaction cache entry '{}': {}", value, e.getMessage());
+                return null;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return format();
+        }
+    }
+}
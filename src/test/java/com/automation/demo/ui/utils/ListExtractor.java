@@ -0,0 +1,224 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a list of repeated elements (product tiles, grid rows, ...) into plain rows with one
+ * script execution, instead of a findElement + getText round trip per field per row.
+ * Rows keep lazy handles for acting on a chosen one: the row is located again (by its key field,
+ * or by position) only when an element inside it is needed, so re-renders don't cause
+ * StaleElementReferenceException.
+ * Locators must use CSS or XPath (By.id, By.className, By.tagName, ... are sent as CSS);
+ * field XPaths are evaluated relative to the row, so start them with '.'.
+ */
+public class ListExtractor {
+
+    private static final Logger logger = LoggerUtil.getLogger(ListExtractor.class);
+
+    private static final String EXTRACT_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.FIND_ALL_FUNCTION
+            + "var container = arguments[0], fields = arguments[1];"
+            + "return findAllByLocator(container[0], container[1]).map(function (row) {"
+            + "  var values = {};"
+            + "  fields.forEach(function (field) {"
+            + "    var el = field.using ? findByLocator(field.using, field.selector, row) : row;"
+            + "    if (!el) { values[field.name] = null; return; }"
+            + "    values[field.name] = field.attribute ? el.getAttribute(field.attribute) : (el.innerText || el.textContent || '').trim();"
+            + "  });"
+            + "  return values;"
+            + "});";
+
+    private static final String LOCATE_SCRIPT =
+            PageScripts.FIND_FUNCTION
+            + PageScripts.FIND_ALL_FUNCTION
+            + "var container = arguments[0], index = arguments[1], key = arguments[2], within = arguments[3];"
+            + "var rows = findAllByLocator(container[0], container[1]), row = null;"
+            + "if (key) {"
+            + "  for (var i = 0; i < rows.length && !row; i++) {"
+            + "    var el = key.using ? findByLocator(key.using, key.selector, rows[i]) : rows[i];"
+            + "    var value = !el ? null : key.attribute ? el.getAttribute(key.attribute) : (el.innerText || el.textContent || '').trim();"
+            + "    if (value === key.value) { row = rows[i]; }"
+            + "  }"
+            + "} else {"
+            + "  row = rows[index] || null;"
+            + "}"
+            + "if (!row || !within) { return row; }"
+            + "return findByLocator(within[0], within[1], row);";
+
+    private ListExtractor() {
+    }
+
+    /**
+     * A value to read from every row: the visible text or an attribute of the first element
+     * matching the locator inside the row (or of the row itself when the locator is null).
+     */
+    public static class Field {
+        private final By locator;
+        private final String attribute;
+
+        private Field(By locator, String attribute) {
+            this.locator = locator;
+            this.attribute = attribute;
+        }
+
+        public static Field text(By locator) {
+            return new Field(locator, null);
+        }
+
+        public static Field attribute(By locator, String attribute) {
+            return new Field(locator, attribute);
+        }
+
+        private Map<String, Object> toScriptSpec(String name) {
+            Map<String, Object> spec = new LinkedHashMap<>();
+            spec.put("name", name);
+            if (locator != null) {
+                String[] scriptLocator = scriptLocator(locator);
+                spec.put("using", scriptLocator[0]);
+                spec.put("selector", scriptLocator[1]);
+            }
+            spec.put("attribute", attribute);
+            return spec;
+        }
+    }
+
+    /**
+     * Reads every row in one script execution. Rows are identified by position when acting on them.
+     *
+     * @param driver The driver.
+     * @param container Locator matching each row.
+     * @param fields Field name to the value to read from the row, in the order the values are wanted.
+     * @return The rows in document order.
+     */
+    public static List<ExtractedRow> extract(WebDriver driver, By container, Map<String, Field> fields) {
+        return extract(driver, container, fields, null);
+    }
+
+    /**
+     * Reads every row in one script execution.
+     *
+     * @param driver The driver.
+     * @param container Locator matching each row.
+     * @param fields Field name to the value to read from the row.
+     * @param keyField The field whose value identifies a row when it is located again for an
+     *                 action (robust to rows being re-ordered), or null to use the row position.
+     * @return The rows in document order.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ExtractedRow> extract(WebDriver driver, By container, Map<String, Field> fields, String keyField) {
+        if (keyField != null && !fields.containsKey(keyField)) {
+            throw new IllegalArgumentException("Key field '" + keyField + "' is not one of the extracted fields " + fields.keySet());
+        }
+        List<Map<String, Object>> specs = new ArrayList<>();
+        fields.forEach((name, field) -> specs.add(field.toScriptSpec(name)));
+
+        long start = System.currentTimeMillis();
+        List<Map<String, Object>> results = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(EXTRACT_SCRIPT, Arrays.asList(scriptLocator(container)), specs);
+
+        List<ExtractedRow> rows = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String name : fields.keySet()) {
+                Object value = results.get(i).get(name);
+                values.put(name, value == null ? null : String.valueOf(value));
+            }
+            rows.add(new ExtractedRow(driver, container, i, Collections.unmodifiableMap(values),
+                    keyField == null ? null : fields.get(keyField).toScriptSpec(keyField)));
+        }
+        logger.info("Extracted {} row(s) x {} field(s) of {} in one script call ({} ms).",
+                rows.size(), fields.size(), container, System.currentTimeMillis() - start);
+        return Collections.unmodifiableList(rows);
+    }
+
+    private static String[] scriptLocator(By locator) {
+        String[] scriptLocator = PageScripts.toScriptLocator(locator);
+        if (scriptLocator == null) {
+            throw new IllegalArgumentException("List extraction needs CSS or XPath based locators, got: " + locator);
+        }
+        return scriptLocator;
+    }
+
+    /**
+     * One extracted row: its field values plus a lazy handle for acting on elements inside it.
+     */
+    public static class ExtractedRow {
+        private final WebDriver driver;
+        private final By container;
+        private final int index;
+        private final Map<String, String> values;
+        private final Map<String, Object> keySpec;
+
+        private ExtractedRow(WebDriver driver, By container, int index, Map<String, String> values, Map<String, Object> keySpec) {
+            this.driver = driver;
+            this.container = container;
+            this.index = index;
+            this.values = values;
+            if (keySpec != null) {
+                keySpec.put("value", values.get((String) keySpec.get("name")));
+            }
+            this.keySpec = keySpec;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String get(String field) {
+            return values.get(field);
+        }
+
+        public Map<String, String> getValues() {
+            return values;
+        }
+
+        /**
+         * Locates the row again and returns the element inside it, in one round trip.
+         *
+         * @param within Locator relative to the row, or null for the row element itself.
+         * @return A freshly located element.
+         * @throws NoSuchElementException If the row or the element no longer exists.
+         */
+        public WebElement element(By within) {
+            Object found = ((JavascriptExecutor) driver).executeScript(LOCATE_SCRIPT,
+                    Arrays.asList(scriptLocator(container)), index, keySpec, within == null ? null : Arrays.asList(scriptLocator(within)));
+            if (!(found instanceof WebElement)) {
+                throw new NoSuchElementException("No element " + (within == null ? "" : within + " ") + "in row " + this);
+            }
+            return (WebElement) found;
+        }
+
+        /**
+         * Clicks an element inside the row, locating it again once if the page re-rendered it in between.
+         *
+         * @param within Locator relative to the row.
+         */
+        public void click(By within) {
+            try {
+                element(within).click();
+            } catch (StaleElementReferenceException e) {
+                logger.debug("Row element went stale before the click, locating it again: {}", within);
+                element(within).click();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + " " + values;
+        }
+    }
+}
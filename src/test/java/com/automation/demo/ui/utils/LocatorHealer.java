@@ -0,0 +1,295 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Self-healing for page object locators. The first time per run a page object field is located,
+ * a fingerprint of its element (tag, identifying attributes, text, position, parent) is recorded;
+ * fingerprints are kept across runs in 'locator.healing.file'. Only a locator that matched before
+ * (it has a fingerprint) but has not matched yet in this run is considered broken (e.g. a renamed id):
+ * one that matched earlier in the run works, and its element is only absent for now (a result box
+ * before submit). When such a locator keeps failing for 'locator.healing.grace.ms' on a loaded page,
+ * one script scores every element with the fingerprint's tag against it within
+ * 'locator.healing.budget.ms' and, if the best match is confident and clearly ahead of the
+ * runner-up, that element is used instead of waiting out the timeout. The healed locator stands in
+ * whenever the original still doesn't match for the rest of the run, and is logged as a warning and
+ * summarized at JVM shutdown so the page object can be fixed.
+ */
+public class LocatorHealer {
+
+    private static final Logger logger = LoggerUtil.getLogger(LocatorHealer.class);
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("locator.healing.enabled", true);
+    private static final Path storeFile = Path.of(ConfigReader.getProperty("locator.healing.file", "target/locator-fingerprints.properties"));
+    private static final long graceMillis = Long.parseLong(ConfigReader.getProperty("locator.healing.grace.ms", "1000").trim());
+    private static final long budgetMillis = Long.parseLong(ConfigReader.getProperty("locator.healing.budget.ms", "250").trim());
+    private static final double minConfidence = Double.parseDouble(ConfigReader.getProperty("locator.healing.min.confidence", "0.6").trim());
+    private static final double minMargin = Double.parseDouble(ConfigReader.getProperty("locator.healing.min.margin", "0.1").trim());
+
+    // After the settings above, which the constructor reads
+    private static final LocatorHealer INSTANCE = new LocatorHealer();
+
+    private static final String FINGERPRINT_FUNCTION =
+            "var ATTRIBUTES = ['id', 'name', 'type', 'class', 'role', 'for', 'href', 'alt', 'title', 'placeholder', 'value',"
+            + "    'aria-label', 'data-testid', 'data-test', 'data-qa'];"
+            + "function textOf(el) { return (el.innerText || el.textContent || '').trim().replace(/\\s+/g, ' ').slice(0, 100); }"
+            + "function fingerprint(el) {"
+            + "  var attributes = {}, r = el.getBoundingClientRect(), parent = el.parentElement;"
+            + "  ATTRIBUTES.forEach(function (name) {"
+            + "    var value = el.getAttribute(name);"
+            + "    if (value !== null && value !== '') { attributes[name] = value.slice(0, 100); }"
+            + "  });"
+            + "  return { tag: el.tagName.toLowerCase(), attributes: attributes, text: textOf(el),"
+            + "      x: Math.round(r.left + window.scrollX), y: Math.round(r.top + window.scrollY),"
+            + "      width: Math.round(r.width), height: Math.round(r.height),"
+            + "      parent: parent ? parent.tagName.toLowerCase() + (parent.id ? '#' + parent.id : '') : '' };"
+            + "}";
+
+    private static final String RECORD_SCRIPT =
+            FINGERPRINT_FUNCTION
+            + "return JSON.stringify(fingerprint(arguments[0]));";
+
+    private static final String HEAL_SCRIPT =
+            "if (document.readyState !== 'complete') { return { loading: true }; }"
+            + FINGERPRINT_FUNCTION
+            + "var expected = JSON.parse(arguments[0]), budget = arguments[1], start = performance.now();"
+            // Attribute weights: the more an attribute identifies an element, the more a match counts
+            + "var WEIGHTS = { id: 3, name: 2, type: 1, role: 1, 'for': 1, href: 1.5, alt: 1, title: 1, placeholder: 2, value: 0.5,"
+            + "    'aria-label': 2, 'data-testid': 3, 'data-test': 3, 'data-qa': 3 };"
+            + "function tokens(value) { return value.toLowerCase().split(/[^a-z0-9]+/).filter(function (t) { return t; }); }"
+            + "function overlap(a, b) {"
+            + "  var left = tokens(a), right = tokens(b);"
+            + "  if (!left.length || !right.length) { return 0; }"
+            + "  var shared = left.filter(function (t) { return right.indexOf(t) >= 0; }).length;"
+            + "  return 2 * shared / (left.length + right.length);"
+            + "}"
+            + "function similarity(a, b) { return a === b ? 1 : overlap(a, b); }"
+            + "function score(el) {"
+            + "  var actual = fingerprint(el), total = 0, max = 0;"
+            + "  Object.keys(expected.attributes).forEach(function (name) {"
+            + "    var weight = name === 'class' ? 2 : WEIGHTS[name] || 1, value = actual.attributes[name];"
+            + "    max += weight;"
+            + "    if (value !== undefined) { total += weight * similarity(expected.attributes[name], value); }"
+            + "  });"
+            + "  if (expected.text) { max += 3; total += 3 * similarity(expected.text, actual.text); }"
+            + "  max += 1.5;"
+            + "  var distance = Math.sqrt(Math.pow(actual.x - expected.x, 2) + Math.pow(actual.y - expected.y, 2));"
+            + "  total += 1.5 * Math.max(0, 1 - distance / 300);"
+            + "  max += 0.5;"
+            + "  if (expected.width && expected.height) {"
+            + "    total += 0.5 * Math.min(actual.width * actual.height, expected.width * expected.height)"
+            + "        / Math.max(actual.width * actual.height, expected.width * expected.height, 1);"
+            + "  }"
+            + "  max += 1;"
+            + "  if (actual.parent === expected.parent) { total += 1; }"
+            + "  return total / max;"
+            + "}"
+            + "function isUnique(selector) { try { return document.querySelectorAll(selector).length === 1; } catch (e) { return false; } }"
+            + "function selectorFor(el) {"
+            + "  var tag = el.tagName.toLowerCase();"
+            + "  if (el.id && isUnique('#' + CSS.escape(el.id))) { return '#' + CSS.escape(el.id); }"
+            + "  var names = ['data-testid', 'data-test', 'data-qa', 'name', 'aria-label', 'placeholder'];"
+            + "  for (var i = 0; i < names.length; i++) {"
+            + "    var value = el.getAttribute(names[i]);"
+            + "    var selector = tag + '[' + names[i] + '=\"' + (value || '').replace(/[\"\\\\]/g, '\\\\$&') + '\"]';"
+            + "    if (value && isUnique(selector)) { return selector; }"
+            + "  }"
+            + "  var path = [];"
+            + "  for (var node = el; node && node !== document.documentElement; node = node.parentElement) {"
+            + "    if (node !== el && node.id && isUnique('#' + CSS.escape(node.id))) { path.unshift('#' + CSS.escape(node.id)); break; }"
+            + "    var index = 1, sibling = node;"
+            + "    while ((sibling = sibling.previousElementSibling)) { index++; }"
+            + "    path.unshift(node.tagName.toLowerCase() + ':nth-child(' + index + ')');"
+            + "  }"
+            + "  return path.join(' > ');"
+            + "}"
+            + "var candidates = document.getElementsByTagName(expected.tag), best = null, bestScore = 0, runnerUp = 0, scored = 0;"
+            + "for (var c = 0; c < candidates.length; c++) {"
+            + "  if (c % 50 === 0 && performance.now() - start > budget) { break; }"
+            + "  var s = score(candidates[c]);"
+            + "  scored++;"
+            + "  if (s > bestScore) { runnerUp = bestScore; bestScore = s; best = candidates[c]; } else if (s > runnerUp) { runnerUp = s; }"
+            + "}"
+            + "return { element: best, selector: best ? selectorFor(best) : null, confidence: bestScore, margin: bestScore - runnerUp,"
+            + "    scored: scored, candidates: candidates.length, elapsed: Math.round(performance.now() - start) };";
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Set<String> recorded = ConcurrentHashMap.newKeySet();
+    private final Set<String> matched = ConcurrentHashMap.newKeySet();
+    private final Map<String, Healing> healed = new ConcurrentHashMap<>();
+
+    private LocatorHealer() {
+        if (enabled) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "locator-healer-save"));
+        }
+    }
+
+    public static LocatorHealer getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return How long a locator has to keep failing before healing is attempted.
+     */
+    static long getGraceMillis() {
+        return graceMillis;
+    }
+
+    /**
+     * @return The locators healed in this run, by "PageObject|original locator".
+     */
+    public Map<String, String> getHealedLocators() {
+        Map<String, String> view = new TreeMap<>();
+        healed.forEach((key, healing) -> view.put(key, healing.toString()));
+        return view;
+    }
+
+    /**
+     * @return The locator that replaced a broken one in this run, or null, also when the original
+     * locator has matched since.
+     */
+    By healedLocator(String scope, By by) {
+        String key = key(scope, by);
+        Healing healing = enabled && !matched.contains(key) ? healed.get(key) : null;
+        return healing == null ? null : healing.locator;
+    }
+
+    /**
+     * Marks the locator as working in this run and records the fingerprint of its element, once per
+     * locator and run.
+     */
+    void remember(WebDriver driver, String scope, By by, WebElement element) {
+        String key = key(scope, by);
+        if (!enabled) {
+            return;
+        }
+        matched.add(key);
+        if (!recorded.add(key)) {
+            return;
+        }
+        try {
+            fingerprints.put(key, (String) ((JavascriptExecutor) driver).executeScript(RECORD_SCRIPT, element));
+        } catch (WebDriverException e) {
+            // Gone again before it could be fingerprinted: try on the next lookup
+            recorded.remove(key);
+            logger.debug("Could not fingerprint {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Looks for the element of a broken locator by its recorded fingerprint.
+     *
+     * @return The confidently matching element, or null: also when the locator never matched, has
+     * matched in this run (so its element is only absent for now), or the page is still loading.
+     */
+    @SuppressWarnings("unchecked")
+    WebElement heal(WebDriver driver, String scope, By by) {
+        String key = key(scope, by);
+        String fingerprint = enabled && !matched.contains(key) ? fingerprints.get(key) : null;
+        if (fingerprint == null) {
+            return null;
+        }
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(HEAL_SCRIPT, fingerprint, budgetMillis);
+        } catch (WebDriverException e) {
+            logger.debug("Healing {} failed: {}", key, e.getMessage());
+            return null;
+        }
+        if (Boolean.TRUE.equals(result.get("loading"))) {
+            logger.debug("Not healing {} while the page is still loading.", key);
+            return null;
+        }
+        double confidence = ((Number) result.get("confidence")).doubleValue();
+        double margin = ((Number) result.get("margin")).doubleValue();
+        if (result.get("element") == null || confidence < minConfidence || margin < minMargin) {
+            logger.info("No confident match for broken locator {} (best confidence {}, margin {}, {} of {} candidate(s) in {} ms).",
+                    key, String.format("%.2f", confidence), String.format("%.2f", margin), result.get("scored"), result.get("candidates"), result.get("elapsed"));
+            return null;
+        }
+        Healing healing = new Healing(By.cssSelector((String) result.get("selector")), confidence);
+        healed.put(key, healing);
+        logger.warn("Healed broken locator {} -> {} ({} of {} candidate(s) in {} ms). Update the page object.",
+                key, healing, result.get("scored"), result.get("candidates"), result.get("elapsed"));
+        return (WebElement) result.get("element");
+    }
+
+    private static String key(String scope, By by) {
+        return scope + "|" + by;
+    }
+
+    private void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read locator fingerprints {}: {}", storeFile, e.getMessage());
+            return;
+        }
+        properties.stringPropertyNames().forEach(key -> fingerprints.put(key, properties.getProperty(key)));
+        logger.info("Loaded {} locator fingerprint(s) from {}.", fingerprints.size(), storeFile);
+    }
+
+    private void shutdown() {
+        if (!healed.isEmpty()) {
+            logger.info("---------- Healed locators (update these page objects) ----------");
+            getHealedLocators().forEach((key, healing) -> logger.info("{} -> {}", key, healing));
+        }
+        Properties properties = new Properties();
+        properties.putAll(fingerprints);
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Element fingerprints per page object and locator, for locator healing");
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save locator fingerprints {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * A locator found for the element of a broken one.
+     */
+    private static class Healing {
+        private final By locator;
+        private final double confidence;
+
+        private Healing(By locator, double confidence) {
+            this.locator = locator;
+            this.confidence = confidence;
+        }
+
+        @Override
+        public String toString() {
+            return locator + String.format(" (confidence %.2f)", confidence);
+        }
+    }
+}
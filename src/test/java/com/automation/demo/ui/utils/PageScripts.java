@@ -0,0 +1,69 @@
+package com.automation.demo.ui.utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * JavaScript building blocks shared by the in-page scripts (observer waits, snapshots, ...),
+ * and the translation of By locators into a form those scripts can resolve themselves, so a
+ * script can locate elements without a separate findElement round trip.
+ */
+public class PageScripts {
+
+    /**
+     * JavaScript function {@code findByLocator(using, selector, root)} returning the first match or null.
+     * Supports the 'css selector' and 'xpath' strategies (By.id, By.name, By.className and
+     * By.tagName are sent as CSS selectors).
+     */
+    public static final String FIND_FUNCTION =
+            "function findByLocator(using, selector, root) {"
+            + "  root = root || document;"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(selector, root, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return root.querySelector(selector);"
+            + "}";
+
+    /**
+     * JavaScript function {@code findAllByLocator(using, selector, root)} returning an array of all matches.
+     */
+    public static final String FIND_ALL_FUNCTION =
+            "function findAllByLocator(using, selector, root) {"
+            + "  root = root || document;"
+            + "  if (using === 'xpath') {"
+            + "    var result = document.evaluate(selector, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), all = [];"
+            + "    for (var i = 0; i < result.snapshotLength; i++) { all.push(result.snapshotItem(i)); }"
+            + "    return all;"
+            + "  }"
+            + "  return Array.prototype.slice.call(root.querySelectorAll(selector));"
+            + "}";
+
+    /**
+     * JavaScript function {@code isVisible(element)}: rendered with a layout box, not hidden by
+     * display, visibility or zero opacity.
+     */
+    public static final String IS_VISIBLE_FUNCTION =
+            "function isVisible(el) {"
+            + "  if (el.checkVisibility) { return el.checkVisibility({ checkOpacity: true, checkVisibilityCSS: true }) && el.getClientRects().length > 0; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';"
+            + "}";
+
+    private PageScripts() {
+    }
+
+    /**
+     * @param locator The locator.
+     * @return {using, selector} for {@link #FIND_FUNCTION}, or null if the strategy can't be resolved in the page.
+     */
+    public static String[] toScriptLocator(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        if (!"css selector".equals(using) && !"xpath".equals(using)) {
+            return null;
+        }
+        return new String[] {using, String.valueOf(parameters.value())};
+    }
+}
@@ -0,0 +1,201 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP client factory for RemoteWebDriver command traffic ('remote.http.*' properties).
+ * All sessions talking to the same Grid share one underlying client per command category, so
+ * 20+ remote sessions reuse a few keep-alive connection pools and executor threads instead of
+ * each session opening its own. Every category has its own read timeout, so a hung Grid node
+ * fails a command after a bounded time instead of blocking the test thread indefinitely:
+ * <ul>
+ *     <li>new session requests: 'remote.http.new.session.timeout.seconds'</li>
+ *     <li>navigation (get, back, forward, refresh): 'remote.http.navigation.timeout.seconds'</li>
+ *     <li>every other command: 'remote.http.read.timeout.seconds'</li>
+ * </ul>
+ * Latency of every command is counted per method and path template and logged at JVM shutdown.
+ * The idle keep-alive of the pooled connections is the JVM argument 'jdk.httpclient.keepalive.timeout'
+ * (set by surefire), as the JDK reads it only once.
+ */
+public class RemoteClientFactory implements HttpClient.Factory {
+
+    private static final Logger logger = LoggerUtil.getLogger(RemoteClientFactory.class);
+    private static final RemoteClientFactory INSTANCE = new RemoteClientFactory();
+
+    private static final Pattern SESSION_ID = Pattern.compile("(/session/)[^/]+");
+    private static final Pattern ELEMENT_ID = Pattern.compile("(/(?:element|shadow)/)(?!active(?:/|$))[^/]+");
+    private static final Pattern NAVIGATION = Pattern.compile("/session/[^/]+/(?:url|back|forward|refresh)$");
+
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<String, HttpClient> sharedClients = new ConcurrentHashMap<>();
+    private final Map<String, CommandLatency> latencies = new ConcurrentHashMap<>();
+
+    private final Duration connectTimeout = seconds("remote.http.connect.timeout.seconds", "10");
+    private final Duration readTimeout = seconds("remote.http.read.timeout.seconds", "60");
+    private final Duration navigationTimeout = seconds("remote.http.navigation.timeout.seconds", "120");
+    private final Duration newSessionTimeout = seconds("remote.http.new.session.timeout.seconds", "300");
+    private final String httpVersion = ConfigReader.getProperty("remote.http.version", "HTTP_1_1").trim();
+
+    private RemoteClientFactory() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "remote-client-shutdown"));
+    }
+
+    public static RemoteClientFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Builds the client configuration for sessions on the given Grid.
+     *
+     * @param gridUri The Grid's base URI.
+     * @return ClientConfig with the configured connect and read timeouts.
+     */
+    public ClientConfig clientConfig(URI gridUri) {
+        return ClientConfig.defaultConfig()
+                .baseUri(gridUri)
+                .connectionTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .version(httpVersion);
+    }
+
+    /**
+     * Returns a lightweight per-session handle. Closing it (done by RemoteWebDriver on quit)
+     * leaves the shared clients open for the other sessions.
+     */
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new SharedClientHandle(config);
+    }
+
+    /**
+     * @return Latency counters per command ("METHOD /path/template"), sorted by command.
+     */
+    public Map<String, CommandLatency> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    /**
+     * Logs the latency summary and closes the shared clients. Called at JVM shutdown.
+     */
+    public void shutdown() {
+        if (!latencies.isEmpty()) {
+            logger.info("---------- Remote command latency ----------");
+            latencies.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, CommandLatency> entry) -> entry.getValue().getTotalMillis()).reversed())
+                    .forEach(entry -> logger.info("{} -> {}", entry.getKey(), entry.getValue()));
+        }
+        sharedClients.values().forEach(HttpClient::close);
+        sharedClients.clear();
+    }
+
+    private HttpClient sharedClient(ClientConfig config, String category, Duration timeout) {
+        return sharedClients.computeIfAbsent(config.baseUri() + " " + category, key -> {
+            logger.info("Opening shared '{}' HTTP client for {} (connect timeout {}s, read timeout {}s).",
+                    category, config.baseUri(), config.connectionTimeout().toSeconds(), timeout.toSeconds());
+            return delegate.createClient(config.readTimeout(timeout));
+        });
+    }
+
+    private HttpClient route(ClientConfig config, HttpRequest request) {
+        String path = request.getUri();
+        if (request.getMethod() == HttpMethod.POST && path.matches("/?session/?")) {
+            return sharedClient(config, "new-session", newSessionTimeout);
+        }
+        if (NAVIGATION.matcher(path).find()) {
+            return sharedClient(config, "navigation", navigationTimeout);
+        }
+        return sharedClient(config, "command", config.readTimeout());
+    }
+
+    private void record(HttpRequest request, long nanos) {
+        String template = ELEMENT_ID.matcher(SESSION_ID.matcher(request.getUri()).replaceAll("$1{id}")).replaceAll("$1{id}");
+        latencies.computeIfAbsent(request.getMethod() + " " + template, key -> new CommandLatency()).record(nanos);
+    }
+
+    private static Duration seconds(String key, String defaultValue) {
+        return Duration.ofSeconds(Long.parseLong(ConfigReader.getProperty(key, defaultValue).trim()));
+    }
+
+    private class SharedClientHandle implements HttpClient {
+
+        private final ClientConfig config;
+
+        private SharedClientHandle(ClientConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws UncheckedIOException {
+            long start = System.nanoTime();
+            try {
+                return route(config, request).execute(request);
+            } finally {
+                record(request, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return sharedClient(config, "command", config.readTimeout()).openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // Shared clients stay open until JVM shutdown
+        }
+    }
+
+    /**
+     * Call count and latency of one remote command.
+     */
+    public static class CommandLatency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalMillis() {
+            return totalNanos.sum() / 1_000_000;
+        }
+
+        public long getMaxMillis() {
+            return maxNanos.get() / 1_000_000;
+        }
+
+        public double getAverageMillis() {
+            long calls = count.sum();
+            return calls == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / calls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d total=%d ms avg=%.1f ms max=%d ms", getCount(), getTotalMillis(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.automation.demo.ui.utils;
+
+import io.qameta.allure.Allure;
+import lombok.Value;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples the health of a long-lived browser session (JS heap size, DOM node count and
+ * command round-trip latency) so DriverManager can recycle sessions that have grown too heavy.
+ * Chromium browsers are sampled through CDP Performance.getMetrics; other browsers through
+ * a script (heap size is only reported where performance.memory exists).
+ * Every sample is attached to the Allure report and appended to 'session.health.report.file'.
+ */
+public class SessionHealthProbe {
+
+    private static final Logger logger = LoggerUtil.getLogger(SessionHealthProbe.class);
+    private static final String CSV_HEADER = "timestamp,thread,test,jsHeapMb,domNodes,commandLatencyMs,recycled";
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("session.health.enabled", true);
+    private static final long maxHeapMb = Long.parseLong(ConfigReader.getProperty("session.health.max.heap.mb", "512").trim());
+    private static final long maxDomNodes = Long.parseLong(ConfigReader.getProperty("session.health.max.dom.nodes", "50000").trim());
+    private static final long maxCommandLatencyMillis = Long.parseLong(ConfigReader.getProperty("session.health.max.command.latency.ms", "2000").trim());
+    private static final Path reportFile = Path.of(ConfigReader.getProperty("session.health.report.file", "target/session-health.csv"));
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes one health sample of the given session.
+     *
+     * @param driver The session to sample.
+     * @return The sample, with -1 for any metric the browser does not expose.
+     */
+    @SuppressWarnings("unchecked")
+    public static HealthSample sample(WebDriver driver) {
+        long start = System.nanoTime();
+        long heapBytes = -1;
+        long domNodes = -1;
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Performance.enable", Collections.emptyMap());
+            Map<String, Object> response = cdp.executeCdpCommand("Performance.getMetrics", Collections.emptyMap());
+            for (Map<String, Object> metric : (List<Map<String, Object>>) response.get("metrics")) {
+                if ("JSHeapUsedSize".equals(metric.get("name"))) {
+                    heapBytes = ((Number) metric.get("value")).longValue();
+                } else if ("Nodes".equals(metric.get("name"))) {
+                    domNodes = ((Number) metric.get("value")).longValue();
+                }
+            }
+        } else {
+            Map<String, Object> response = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                    "return { heap: (window.performance && performance.memory) ? performance.memory.usedJSHeapSize : -1,"
+                    + " nodes: document.getElementsByTagName('*').length };");
+            heapBytes = ((Number) response.get("heap")).longValue();
+            domNodes = ((Number) response.get("nodes")).longValue();
+        }
+        long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+        return new HealthSample(heapBytes < 0 ? -1 : heapBytes / (1024 * 1024), domNodes, latencyMillis);
+    }
+
+    /**
+     * Checks a sample against the configured thresholds.
+     *
+     * @param sample The health sample.
+     * @return A description of the first exceeded threshold, or null if the session is healthy.
+     */
+    public static String exceededThreshold(HealthSample sample) {
+        if (sample.getJsHeapMb() > maxHeapMb) {
+            return "JS heap " + sample.getJsHeapMb() + " MB exceeds " + maxHeapMb + " MB";
+        }
+        if (sample.getDomNodes() > maxDomNodes) {
+            return "DOM node count " + sample.getDomNodes() + " exceeds " + maxDomNodes;
+        }
+        if (sample.getCommandLatencyMillis() > maxCommandLatencyMillis) {
+            return "command latency " + sample.getCommandLatencyMillis() + " ms exceeds " + maxCommandLatencyMillis + " ms";
+        }
+        return null;
+    }
+
+    /**
+     * Records a sample in the Allure report of the current test and in the CSV report file.
+     *
+     * @param testName The test that used the session.
+     * @param sample The health sample.
+     * @param recycleReason Why the session is being recycled, or null if it is kept.
+     */
+    public static void report(String testName, HealthSample sample, String recycleReason) {
+        String summary = sample + (recycleReason == null ? "" : System.lineSeparator() + "Recycled: " + recycleReason);
+        Allure.addAttachment("Browser session health", "text/plain", summary);
+
+        String row = String.join(",", String.valueOf(System.currentTimeMillis()), String.valueOf(Thread.currentThread().threadId()),
+                testName, String.valueOf(sample.getJsHeapMb()), String.valueOf(sample.getDomNodes()),
+                String.valueOf(sample.getCommandLatencyMillis()), String.valueOf(recycleReason != null));
+        synchronized (SessionHealthProbe.class) {
+            try {
+                if (reportFile.getParent() != null) {
+                    Files.createDirectories(reportFile.getParent());
+                }
+                if (!Files.exists(reportFile)) {
+                    Files.writeString(reportFile, CSV_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+                }
+                Files.writeString(reportFile, row + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.warn("Failed to write session health report '{}': {}", reportFile, e.getMessage());
+            }
+        }
+    }
+
+    @Value
+    public static class HealthSample {
+        long jsHeapMb;
+        long domNodes;
+        long commandLatencyMillis;
+    }
+}
@@ -0,0 +1,103 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// This class implements ISuiteListener to launch browser sessions in the background as soon as the suite starts
+public class SessionPrewarmListener implements ISuiteListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(SessionPrewarmListener.class);
+
+    private ScheduledExecutorService prewarmExecutor;
+
+    /**
+     * Called when the suite starts.
+     * Sizes the DriverPool to the suite's thread-count and schedules one session launch per slot,
+     * staggered by 'driver.prewarm.stagger.ms' so the browsers don't all start at the same moment.
+     * Workers that call DriverManager.getDriver() before a session is ready wait for the next one.
+     * Sessions are pre-navigated round-robin to the @StartUrl pages of the suite's tests.
+     * @param suite The TestNG suite.
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        if (!DriverManager.isPoolingEnabled() || !ConfigReader.getBooleanProperty("driver.prewarm.enabled", true)) {
+            logger.info("Session pre-warming disabled for suite '{}'.", suite.getName());
+            return;
+        }
+        DriverPool pool = DriverPool.getInstance();
+        pool.sizeToSuite(suite.getXmlSuite());
+
+        int configuredCount = Integer.parseInt(ConfigReader.getProperty("driver.prewarm.count", "0").trim());
+        int sessionCount = configuredCount > 0 ? Math.min(configuredCount, pool.getMaxSize()) : pool.getMaxSize();
+        long staggerMillis = Long.parseLong(ConfigReader.getProperty("driver.prewarm.stagger.ms", "1500").trim());
+
+        logger.info("Pre-warming {} browser session(s) for suite '{}', staggered by {} ms.", sessionCount, suite.getName(), staggerMillis);
+        AtomicInteger threadIndex = new AtomicInteger();
+        prewarmExecutor = Executors.newScheduledThreadPool(sessionCount, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<String> startUrls = collectStartUrls(suite);
+        long suiteStart = System.currentTimeMillis();
+        for (int i = 0; i < sessionCount; i++) {
+            int sessionNumber = i + 1;
+            String startUrl = startUrls.isEmpty() ? null : startUrls.get(i % startUrls.size());
+            prewarmExecutor.schedule(() -> prewarmSession(pool, sessionNumber, startUrl, suiteStart), i * staggerMillis, TimeUnit.MILLISECONDS);
+        }
+        prewarmExecutor.shutdown(); // Already scheduled launches still run
+    }
+
+    /**
+     * Called when the suite finishes.
+     * Stops any launches that have not started yet. Sessions already in the pool stay there.
+     * @param suite The TestNG suite.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (prewarmExecutor != null) {
+            prewarmExecutor.shutdownNow();
+        }
+    }
+
+    private List<String> collectStartUrls(ISuite suite) {
+        Set<String> startUrls = new LinkedHashSet<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            try {
+                String startUrl = StartUrlResolver.resolve(method.getConstructorOrMethod().getMethod());
+                if (startUrl != null) {
+                    startUrls.add(startUrl);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring start URL of {}: {}", method.getQualifiedName(), e.getMessage());
+            }
+        }
+        return new ArrayList<>(startUrls);
+    }
+
+    private void prewarmSession(DriverPool pool, int sessionNumber, String startUrl, long suiteStart) {
+        try {
+            long start = System.currentTimeMillis();
+            if (pool.prewarm(startUrl)) {
+                logger.info("Pre-warmed session #{} ready {} ms after suite start (startup {} ms).",
+                        sessionNumber, System.currentTimeMillis() - suiteStart, System.currentTimeMillis() - start);
+            } else {
+                logger.info("Skipped pre-warming session #{}: pool is already full.", sessionNumber);
+            }
+        } catch (Exception e) {
+            // Workers fall back to creating their own sessions
+            logger.error("Failed to pre-warm session #{}: {}", sessionNumber, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.automation.demo.ui.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the URL a UI test starts on, so BaseTest can hand it a session that is already
+ * on that page instead of the test calling driver.get() itself.
+ * Can be placed on a test method, a test class or a page object class. A test can also point
+ * at a page object with {@code @StartUrl(page = TextBoxPage.class)} to reuse the page's URL.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StartUrl {
+
+    /**
+     * The absolute URL to open before the test runs.
+     */
+    String value() default "";
+
+    /**
+     * A page object class annotated with {@code @StartUrl}, used when {@link #value()} is empty.
+     */
+    Class<?> page() default Void.class;
+}
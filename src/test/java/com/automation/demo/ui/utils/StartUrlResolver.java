@@ -0,0 +1,41 @@
+package com.automation.demo.ui.utils;
+
+import java.lang.reflect.Method;
+
+public class StartUrlResolver {
+
+    /**
+     * Resolves the start URL of a test method from its {@link StartUrl} annotation,
+     * falling back to the annotation on its declaring class.
+     *
+     * @param testMethod The test method about to run.
+     * @return The start URL, or null if the test doesn't declare one.
+     */
+    public static String resolve(Method testMethod) {
+        if (testMethod == null) {
+            return null;
+        }
+        StartUrl startUrl = testMethod.getAnnotation(StartUrl.class);
+        if (startUrl == null) {
+            startUrl = testMethod.getDeclaringClass().getAnnotation(StartUrl.class);
+        }
+        return resolve(startUrl);
+    }
+
+    private static String resolve(StartUrl startUrl) {
+        if (startUrl == null) {
+            return null;
+        }
+        if (!startUrl.value().isEmpty()) {
+            return startUrl.value();
+        }
+        if (startUrl.page() != Void.class) {
+            StartUrl pageStartUrl = startUrl.page().getAnnotation(StartUrl.class);
+            if (pageStartUrl == null || pageStartUrl.value().isEmpty()) {
+                throw new IllegalArgumentException("Page object " + startUrl.page().getName() + " does not declare a @StartUrl value.");
+            }
+            return pageStartUrl.value();
+        }
+        return null;
+    }
+}
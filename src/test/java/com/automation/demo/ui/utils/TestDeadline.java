@@ -0,0 +1,160 @@
+package com.automation.demo.ui.utils;
+
+import io.qameta.allure.Allure;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-test time budget ('test.time.budget.seconds' or @TimeBudget), started by
+ * TestDeadlineListener for the thread running the test. Explicit waits (WaitEngine) get the
+ * smaller of their own timeout and what is left of the budget, API retries
+ * (ApiTestBase.sendRequestWithRetry) stop retrying, and WebDriver commands of drivers created by
+ * DriverFactory (see GuardedDriverDecorator) are refused once it is spent. The test then fails
+ * right away with a {@link DeadlineExceededException} listing where its time went: per wait scope,
+ * WebDriver command and API endpoint.
+ */
+public class TestDeadline {
+
+    private static final Logger logger = LoggerUtil.getLogger(TestDeadline.class);
+
+    private static final ThreadLocal<TestDeadline> current = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private String testName;
+    private long budgetNanos;
+    // Activity -> {nanos, count}; only touched by the test's own thread
+    private final Map<String, long[]> spent = new HashMap<>();
+    private DeadlineExceededException exceeded;
+
+    private TestDeadline(String testName, long budgetMillis) {
+        this.testName = testName;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Starts the deadline of the test running on the current thread.
+     *
+     * @param testName The test (or its setup method).
+     * @param budgetMillis The budget; 0 for none (the deadline only marks the start of the test).
+     */
+    static void start(String testName, long budgetMillis) {
+        current.set(new TestDeadline(testName, budgetMillis));
+    }
+
+    /**
+     * Hands the running deadline, started by a setup method, over to the test.
+     *
+     * @param testName The test.
+     * @param budgetMillis Its own budget, counted from when the deadline was started; negative to keep the current one.
+     */
+    static void rebudget(String testName, long budgetMillis) {
+        TestDeadline deadline = current.get();
+        deadline.testName = testName;
+        if (budgetMillis >= 0) {
+            deadline.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        }
+    }
+
+    static boolean isActive() {
+        return current.get() != null;
+    }
+
+    static void clear() {
+        current.remove();
+    }
+
+    /**
+     * Ends the deadline of the current thread.
+     *
+     * @return The first failure it caused, or null if the budget was kept.
+     */
+    static DeadlineExceededException finish() {
+        TestDeadline deadline = current.get();
+        clear();
+        if (deadline == null || deadline.exceeded == null) {
+            return null;
+        }
+        Allure.addAttachment("Time budget breakdown", "text/plain", deadline.exceeded.getMessage());
+        return deadline.exceeded;
+    }
+
+    /**
+     * @return Nanoseconds left of the current test's budget (possibly negative), or Long.MAX_VALUE without one.
+     */
+    public static long remainingNanos() {
+        TestDeadline deadline = current.get();
+        if (deadline == null || deadline.budgetNanos == 0) {
+            return Long.MAX_VALUE;
+        }
+        return deadline.budgetNanos - (System.nanoTime() - deadline.startNanos);
+    }
+
+    /**
+     * @param activity What is about to be done, for the failure message.
+     * @throws DeadlineExceededException If the current test's budget is spent.
+     */
+    public static void check(String activity) {
+        if (remainingNanos() <= 0) {
+            throw exceeded(activity);
+        }
+    }
+
+    /**
+     * @param activity What was cut short by the deadline.
+     * @return The failure to throw, with the breakdown of the test's time.
+     */
+    public static DeadlineExceededException exceeded(String activity) {
+        TestDeadline deadline = current.get();
+        long elapsedNanos = System.nanoTime() - deadline.startNanos;
+        String message = String.format("Time budget of %d s of %s exhausted after %.1f s, while %s. Time spent (waits include their WebDriver commands): %s",
+                TimeUnit.NANOSECONDS.toSeconds(deadline.budgetNanos), deadline.testName, elapsedNanos / 1e9, activity, deadline.breakdown());
+        DeadlineExceededException exception = new DeadlineExceededException(message);
+        if (deadline.exceeded == null) {
+            deadline.exceeded = exception;
+            logger.error(message);
+        }
+        return exception;
+    }
+
+    /**
+     * Adds time to the breakdown of the current test, if it has a budget.
+     *
+     * @param activity E.g. "wait CheckBoxPage", "driver findElement", "api GET /users".
+     * @param nanos The time spent.
+     */
+    public static void record(String activity, long nanos) {
+        TestDeadline deadline = current.get();
+        if (deadline == null || deadline.budgetNanos == 0) {
+            return;
+        }
+        long[] total = deadline.spent.computeIfAbsent(activity, key -> new long[2]);
+        total[0] += nanos;
+        total[1]++;
+    }
+
+    private String breakdown() {
+        if (spent.isEmpty()) {
+            return "nothing recorded";
+        }
+        return spent.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                .map(entry -> String.format("%s %.1f s (%dx)", entry.getKey(), entry.getValue()[0] / 1e9, entry.getValue()[1]))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Thrown when a test runs out of its time budget. Not a TimeoutException, so page object
+     * code that tolerates a timed-out wait doesn't swallow it.
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}
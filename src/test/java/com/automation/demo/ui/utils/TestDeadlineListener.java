@@ -0,0 +1,65 @@
+package com.automation.demo.ui.utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+
+// This class implements IInvokedMethodListener to give each test a deadline that its waits, driver commands and API retries respect
+public class TestDeadlineListener implements IInvokedMethodListener {
+
+    private static final int defaultBudgetSeconds = Integer.parseInt(ConfigReader.getProperty("test.time.budget.seconds", "0").trim());
+
+    /**
+     * Called before every configuration and test method.
+     * Starts the deadline at the first @BeforeMethod of a test (or at the test itself when it has none),
+     * so the test's setup counts against its budget as well. A @BeforeMethod doesn't know which test
+     * it prepares, so it starts with the class or default budget; a budget on the test method
+     * replaces it when the test starts, still counted from the start of the setup.
+     * @param method The method about to run.
+     * @param testResult The result of the method.
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        Method javaMethod = testResult.getMethod().getConstructorOrMethod().getMethod();
+        if (method.isTestMethod()) {
+            TimeBudget methodBudget = javaMethod.getAnnotation(TimeBudget.class);
+            if (!TestDeadline.isActive()) {
+                TestDeadline.start(testResult.getMethod().getMethodName(), budgetOf(methodBudget, javaMethod.getDeclaringClass()) * 1000L);
+            } else {
+                TestDeadline.rebudget(testResult.getMethod().getMethodName(), methodBudget == null ? -1 : methodBudget.value() * 1000L);
+            }
+        } else if (method.getTestMethod().isBeforeMethodConfiguration() && !TestDeadline.isActive()) {
+            TestDeadline.start(javaMethod.getName(), budgetOf(null, testResult.getTestClass().getRealClass()) * 1000L);
+        }
+    }
+
+    /**
+     * Called after every configuration and test method.
+     * The deadline ends with the test method, so @AfterMethod teardown (e.g. quitting the driver) is never cut short.
+     * A test that caught the deadline failure and went on is failed anyway.
+     * @param method The method that ran.
+     * @param testResult The result of the method.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.getTestMethod().isAfterMethodConfiguration()) {
+            TestDeadline.clear(); // Left over when a @BeforeMethod failed and the test was skipped
+            return;
+        }
+        if (!method.isTestMethod()) {
+            return;
+        }
+        TestDeadline.DeadlineExceededException exceeded = TestDeadline.finish();
+        if (exceeded != null && testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(exceeded);
+        }
+    }
+
+    private static int budgetOf(TimeBudget methodBudget, Class<?> testClass) {
+        TimeBudget budget = methodBudget != null ? methodBudget : testClass.getAnnotation(TimeBudget.class);
+        return budget != null ? budget.value() : defaultBudgetSeconds;
+    }
+}
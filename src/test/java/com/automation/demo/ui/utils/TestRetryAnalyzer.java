@@ -22,6 +22,10 @@ public class TestRetryAnalyzer implements IRetryAnalyzer {
 
     @Override
     public boolean retry(ITestResult result) {
+        if (DriverCircuitBreaker.getInstance().isOpen()) {
+            logger.warn("Not retrying test method '" + result.getName() + "': driver creation circuit is open.");
+            return false;
+        }
         if (retryCount < maxRetryCount) {
             logger.warn("Retrying test method '" + result.getName() + "' for the " + (retryCount + 1) + " time(s).");
             retryCount++;
@@ -0,0 +1,106 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+
+/**
+ * Enters text into a field either by typing it (clear + sendKeys, one key event per character)
+ * or, in FAST mode, with one async script that sets the value through the native value setter of
+ * the element's prototype (so framework value trackers such as React's see a real change),
+ * dispatches input and change events, and reads the value back after 'text.entry.fast.settle.ms'.
+ * If the page's framework didn't keep the value (e.g. it only listens to key events), the text is
+ * typed after all. Text containing WebDriver Keys (e.g. Keys.ENTER) is always typed.
+ */
+public class TextEntry {
+
+    private static final Logger logger = LoggerUtil.getLogger(TextEntry.class);
+
+    /**
+     * TYPE sends real key events; FAST sets the value in one script call (verified, falls back to
+     * TYPE); AUTO uses FAST for text of at least 'text.entry.fast.min.length' characters.
+     */
+    public enum TextEntryMode { TYPE, FAST, AUTO }
+
+    private static final TextEntryMode defaultMode = TextEntryMode.valueOf(ConfigReader.getProperty("text.entry.mode", "type").trim().toUpperCase());
+    private static final int fastMinLength = Integer.parseInt(ConfigReader.getProperty("text.entry.fast.min.length", "64").trim());
+    private static final long settleMillis = Long.parseLong(ConfigReader.getProperty("text.entry.fast.settle.ms", "20").trim());
+
+    private static final String SET_VALUE_SCRIPT =
+            "var callback = arguments[arguments.length - 1];"
+            + "var el = arguments[0], text = arguments[1], settle = arguments[2];"
+            + "if (!el.isConnected || el.disabled || el.readOnly) { callback({ applied: false, reason: 'not editable' }); return; }"
+            + "var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "    : el instanceof HTMLInputElement && /^(text|search|email|url|tel|password|number)$/.test(el.type) ? HTMLInputElement.prototype : null;"
+            + "if (!proto && !el.isContentEditable) { callback({ applied: false, reason: 'unsupported element ' + el.tagName + (el.type ? '[' + el.type + ']' : '') }); return; }"
+            + "function read() { return proto ? el.value : el.innerText; }"
+            + "el.focus();"
+            + "if (proto) { Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text); } else { el.textContent = text; }"
+            + "el.dispatchEvent(new InputEvent('input', { bubbles: true, inputType: 'insertText', data: text }));"
+            + "el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "setTimeout(function () { callback({ applied: read() === text, value: read().length }); }, settle);";
+
+    private TextEntry() {
+    }
+
+    /**
+     * @return The mode selected by 'text.entry.mode'.
+     */
+    public static TextEntryMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    /**
+     * Replaces the content of an (already visible) field with the text.
+     *
+     * @param driver The driver.
+     * @param element The input, textarea or contenteditable element.
+     * @param text The text to enter.
+     * @param mode How to enter it.
+     * @return The mode that was effectively used: TYPE or FAST.
+     */
+    public static TextEntryMode enter(WebDriver driver, WebElement element, String text, TextEntryMode mode) {
+        if (mode == TextEntryMode.AUTO) {
+            mode = text.length() >= fastMinLength ? TextEntryMode.FAST : TextEntryMode.TYPE;
+        }
+        if (mode == TextEntryMode.FAST && !containsKeys(text) && setValue(driver, element, text)) {
+            return TextEntryMode.FAST;
+        }
+        element.clear();
+        element.sendKeys(text);
+        return TextEntryMode.TYPE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean setValue(WebDriver driver, WebElement element, String text) {
+        try {
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeAsyncScript(SET_VALUE_SCRIPT, element, text, settleMillis);
+            if (Boolean.TRUE.equals(result.get("applied"))) {
+                return true;
+            }
+            logger.warn("Fast text entry not kept by the page ({}), typing {} character(s) instead.",
+                    result.containsKey("reason") ? result.get("reason") : "value reverted to " + result.get("value") + " character(s)", text.length());
+        } catch (WebDriverException e) {
+            logger.warn("Fast text entry failed, typing instead: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * WebDriver Keys (ENTER, TAB, chords, ...) are private-use characters that only sendKeys interprets.
+     */
+    private static boolean containsKeys(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '\uE000' && c <= '\uF8FF') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
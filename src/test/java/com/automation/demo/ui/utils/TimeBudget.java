@@ -0,0 +1,21 @@
+package com.automation.demo.ui.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps the wall-clock time of a test, including its @BeforeMethod setup. Overrides
+ * 'test.time.budget.seconds' for the annotated test method or every test in the class; every
+ * explicit wait, WebDriver command and API retry of the test respects what is left of it (see TestDeadline).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface TimeBudget {
+
+    /**
+     * The time budget in seconds; 0 for none.
+     */
+    int value();
+}
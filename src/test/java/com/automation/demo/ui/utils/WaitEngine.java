@@ -0,0 +1,289 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Hands out reusable explicit waits, one per driver and timeout, so page objects don't build a
+ * new WebDriverWait for every helper call. The waits poll every 'wait.poll.interval.ms' (or an
+ * interval derived by WaitHistory) on a nanoTime deadline without allocating per iteration
+ * (FluentWait allocates clock instants on every poll). Wait count and time spent are tracked per page object and logged at JVM shutdown.
+ * Element waits can instead run event-driven in the page ({@link WaitMode#OBSERVER}, see
+ * DomEventWait), selected globally with 'wait.mode' or per wait. No wait outlasts the time budget
+ * of the running test (see TestDeadline).
+ */
+public class WaitEngine {
+
+    private static final Logger logger = LoggerUtil.getLogger(WaitEngine.class);
+
+    /**
+     * POLL re-checks the condition over the WebDriver protocol every 'wait.poll.interval.ms';
+     * OBSERVER blocks on one async script that watches the DOM for the condition.
+     */
+    public enum WaitMode { POLL, OBSERVER }
+
+    private static final int defaultTimeoutSeconds = ConfigReader.getIntProperty("default.explicit.wait.seconds");
+    private static final long pollIntervalMillis = Long.parseLong(ConfigReader.getProperty("wait.poll.interval.ms", "500").trim());
+    private static final WaitMode defaultMode = WaitMode.valueOf(ConfigReader.getProperty("wait.mode", "poll").trim().toUpperCase());
+
+    // Pooled drivers are reused across many pages; entries are dropped when DriverReaper quits the driver
+    private static final Map<WebDriver, Map<Long, CachedWait>> waits = new ConcurrentHashMap<>();
+    private static final Map<String, WaitStats> stats = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitEngine::logSummary, "wait-engine-summary"));
+    }
+
+    private WaitEngine() {
+    }
+
+    /**
+     * @return 'default.explicit.wait.seconds', read once per JVM.
+     */
+    public static int getDefaultTimeoutSeconds() {
+        return defaultTimeoutSeconds;
+    }
+
+    /**
+     * @return 'wait.poll.interval.ms', read once per JVM.
+     */
+    public static long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    /**
+     * @return The wait mode selected by 'wait.mode'.
+     */
+    public static WaitMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    /**
+     * @param driver The driver to wait on.
+     * @return The shared wait for the driver with the default timeout.
+     */
+    public static CachedWait forDriver(WebDriver driver) {
+        return forDriver(driver, defaultTimeoutSeconds);
+    }
+
+    /**
+     * @param driver The driver to wait on.
+     * @param timeoutSeconds The wait timeout.
+     * @return The shared wait for the driver and timeout.
+     */
+    public static CachedWait forDriver(WebDriver driver, int timeoutSeconds) {
+        return forDriver(driver, timeoutSeconds, pollIntervalMillis);
+    }
+
+    /**
+     * @param driver The driver to wait on.
+     * @param timeoutSeconds The wait timeout.
+     * @param pollMillis The poll interval, e.g. one derived by WaitHistory.
+     * @return The shared wait for the driver, timeout and poll interval.
+     */
+    public static CachedWait forDriver(WebDriver driver, int timeoutSeconds, long pollMillis) {
+        Map<Long, CachedWait> driverWaits = waits.computeIfAbsent(driver, d -> new ConcurrentHashMap<>());
+        return driverWaits.computeIfAbsent(((long) timeoutSeconds << 32) | pollMillis, key -> new CachedWait(driver, timeoutSeconds, pollMillis));
+    }
+
+    /**
+     * Drops the cached waits of a driver that is being quit.
+     *
+     * @param driver The driver.
+     */
+    public static void forget(WebDriver driver) {
+        waits.remove(driver);
+        DomEventWait.forget(driver);
+    }
+
+    /**
+     * @return Wait statistics per page object (or "direct" for waits not attributed to a page), sorted by name.
+     */
+    public static Map<String, WaitStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    private static void logSummary() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        logger.info("---------- Explicit wait time per page object ----------");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, WaitStats> entry) -> entry.getValue().getTotalMillis()).reversed())
+                .forEach(entry -> logger.info("{} -> {}", entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * WebDriverWait whose until() polls on a nanoTime deadline and records its duration.
+     * Ignores NotFoundException while polling, like WebDriverWait.
+     */
+    public static class CachedWait extends WebDriverWait {
+
+        private final WebDriver driver;
+        private final int timeoutSeconds;
+        private final long pollMillis;
+        private final long timeoutNanos;
+        private final long pollNanos;
+
+        private CachedWait(WebDriver driver, int timeoutSeconds, long pollMillis) {
+            super(driver, Duration.ofSeconds(timeoutSeconds), Duration.ofMillis(pollMillis));
+            this.driver = driver;
+            this.timeoutSeconds = timeoutSeconds;
+            this.pollMillis = pollMillis;
+            this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            this.pollNanos = TimeUnit.MILLISECONDS.toNanos(pollMillis);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> condition) {
+            return until("direct", condition);
+        }
+
+        /**
+         * Waits for the condition and records the wait under the given scope.
+         *
+         * @param scope The page object (or other caller) the wait is attributed to.
+         * @param condition Returns a non-null, non-false value once satisfied.
+         * @return The condition's value.
+         * @throws TimeoutException If the condition is not satisfied within the timeout.
+         */
+        public <V> V until(String scope, Function<? super WebDriver, V> condition) {
+            long start = System.nanoTime();
+            long budgetNanos = TestDeadline.remainingNanos();
+            if (budgetNanos <= 0) {
+                throw TestDeadline.exceeded("waiting for " + condition + " on " + scope);
+            }
+            boolean capped = budgetNanos < timeoutNanos;
+            long deadline = start + Math.min(timeoutNanos, budgetNanos);
+            int polls = 0;
+            RuntimeException lastException = null;
+            try {
+                while (true) {
+                    polls++;
+                    try {
+                        V value = condition.apply(driver);
+                        if (value != null && !Boolean.FALSE.equals(value)) {
+                            return value;
+                        }
+                        lastException = null;
+                    } catch (NotFoundException e) {
+                        lastException = e;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 && capped) {
+                        throw TestDeadline.exceeded("waiting for " + condition + " on " + scope);
+                    }
+                    if (remaining <= 0) {
+                        throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d second(s) with %d milliseconds interval)",
+                                condition, timeoutSeconds, pollMillis), lastException);
+                    }
+                    LockSupport.parkNanos(Math.min(remaining, pollNanos));
+                    if (Thread.interrupted()) {
+                        Thread.currentThread().interrupt();
+                        throw new WebDriverException("Interrupted while waiting for " + condition);
+                    }
+                }
+            } finally {
+                long nanos = System.nanoTime() - start;
+                stats.computeIfAbsent(scope, key -> new WaitStats()).record(nanos, polls);
+                TestDeadline.record("wait " + scope, nanos);
+            }
+        }
+
+        /**
+         * Waits for an element condition in the page with a single async script (one poll).
+         * Falls back to polling {@code fallback} for the rest of the timeout when the target can't be
+         * watched in the page or the script is cut short, e.g. by a navigation.
+         *
+         * @param scope The page object the wait is attributed to.
+         * @param target A By locator or a WebElement.
+         * @param condition The condition to watch for.
+         * @param expectedText The text for TEXT_CONTAINS, otherwise null.
+         * @param fallback The equivalent ExpectedCondition.
+         * @return The element that satisfied the condition.
+         * @throws TimeoutException If the condition is not satisfied within the timeout.
+         */
+        public WebElement untilObserved(String scope, Object target, DomEventWait.DomCondition condition, String expectedText,
+                                        Function<? super WebDriver, WebElement> fallback) {
+            long start = System.nanoTime();
+            long budgetNanos = TestDeadline.remainingNanos();
+            if (budgetNanos <= 0) {
+                throw TestDeadline.exceeded("waiting for " + target + " to be " + condition + " on " + scope);
+            }
+            try {
+                WebElement element = DomEventWait.await(driver, target, condition, expectedText, TimeUnit.NANOSECONDS.toMillis(Math.min(timeoutNanos, budgetNanos)));
+                recordObserved(scope, System.nanoTime() - start);
+                return element;
+            } catch (TimeoutException e) {
+                recordObserved(scope, System.nanoTime() - start);
+                if (budgetNanos < timeoutNanos) {
+                    throw TestDeadline.exceeded("waiting for " + target + " to be " + condition + " on " + scope);
+                }
+                throw e;
+            } catch (DomEventWait.UnsupportedWaitException | WebDriverException e) {
+                logger.debug("Observer wait unavailable, polling instead: {}", e.getMessage());
+                long remainingSeconds = TimeUnit.NANOSECONDS.toSeconds(timeoutNanos - (System.nanoTime() - start) + 999_999_999L);
+                return forDriver(driver, (int) Math.max(1, remainingSeconds)).until(scope, fallback);
+            }
+        }
+
+        private void recordObserved(String scope, long nanos) {
+            stats.computeIfAbsent(scope, key -> new WaitStats()).record(nanos, 1);
+            TestDeadline.record("wait " + scope, nanos);
+        }
+    }
+
+    /**
+     * Count, polls and time spent of the explicit waits of one page object.
+     */
+    public static class WaitStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos, int pollCount) {
+            count.increment();
+            polls.add(pollCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getPolls() {
+            return polls.sum();
+        }
+
+        public long getTotalMillis() {
+            return totalNanos.sum() / 1_000_000;
+        }
+
+        public long getMaxMillis() {
+            return maxNanos.get() / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("waits=%d polls=%d total=%d ms max=%d ms", getCount(), getPolls(), getTotalMillis(), getMaxMillis());
+        }
+    }
+}
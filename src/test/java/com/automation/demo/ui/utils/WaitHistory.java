@@ -0,0 +1,232 @@
+package com.automation.demo.ui.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each element wait of a page object took (per page object, condition and
+ * locator) and derives the timeout and poll interval of the next one from that history, so a
+ * missing element that normally appears in 50 ms fails after a couple of seconds instead of the
+ * full default timeout. Once a wait has 'wait.adaptive.min.samples' samples, its timeout is the
+ * 'wait.adaptive.percentile' duration times 'wait.adaptive.safety.factor', rounded up to whole
+ * seconds and kept between 'wait.adaptive.min.seconds' and the default timeout; it polls at a
+ * quarter of the median duration, within 'wait.adaptive.poll.min.ms' and 'wait.adaptive.poll.max.ms'.
+ * An adapted wait that times out drops its history, so the next one waits the full default timeout
+ * again and the wait is learned anew; one slow sample alone would not move a high percentile. The last 'wait.adaptive.history.size' durations per wait are kept across runs in
+ * 'wait.adaptive.file'. Only waits on targets with a stable description are learned: By locators
+ * and page object fields.
+ */
+public class WaitHistory {
+
+    private static final Logger logger = LoggerUtil.getLogger(WaitHistory.class);
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("wait.adaptive.enabled", true);
+    private static final Path storeFile = Path.of(ConfigReader.getProperty("wait.adaptive.file", "target/wait-history.properties"));
+    private static final int historySize = Integer.parseInt(ConfigReader.getProperty("wait.adaptive.history.size", "200").trim());
+    private static final int minSamples = Integer.parseInt(ConfigReader.getProperty("wait.adaptive.min.samples", "20").trim());
+    private static final double percentile = Double.parseDouble(ConfigReader.getProperty("wait.adaptive.percentile", "0.99").trim());
+    private static final double safetyFactor = Double.parseDouble(ConfigReader.getProperty("wait.adaptive.safety.factor", "3").trim());
+    private static final int minTimeoutSeconds = Integer.parseInt(ConfigReader.getProperty("wait.adaptive.min.seconds", "2").trim());
+    private static final long minPollMillis = Long.parseLong(ConfigReader.getProperty("wait.adaptive.poll.min.ms", "25").trim());
+    private static final long maxPollMillis = Long.parseLong(ConfigReader.getProperty("wait.adaptive.poll.max.ms", "500").trim());
+    // Poll intervals are rounded to this step, so few distinct waits are cached per driver
+    private static final long POLL_STEP_MILLIS = 25;
+
+    // After the settings above, which the constructor reads
+    private static final WaitHistory INSTANCE = new WaitHistory();
+
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    private WaitHistory() {
+        if (enabled) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save, "wait-history-save"));
+        }
+    }
+
+    public static WaitHistory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param scope The page object waiting.
+     * @param target The By locator or WebElement waited for.
+     * @param condition The condition waited for.
+     * @param defaultTimeoutSeconds The timeout the wait would use without history, also the upper bound.
+     * @return The timeout and poll interval for the wait, or null if it isn't learned (adaptive
+     * waits disabled or a target without a stable description).
+     */
+    public Timing timing(String scope, Object target, String condition, int defaultTimeoutSeconds) {
+        if (!enabled || !CachingElementLocatorFactory.hasStableDescription(target)) {
+            return null;
+        }
+        String key = scope + "|" + condition + "|" + target;
+        History history = histories.get(key);
+        long[] sorted = history == null ? new long[0] : history.sorted();
+        if (sorted.length < minSamples) {
+            return new Timing(key, defaultTimeoutSeconds, WaitEngine.getPollIntervalMillis(), false);
+        }
+        long slow = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        long median = sorted[sorted.length / 2];
+        int timeoutSeconds = (int) Math.ceil(slow * safetyFactor / 1000);
+        timeoutSeconds = Math.max(Math.min(minTimeoutSeconds, defaultTimeoutSeconds), Math.min(timeoutSeconds, defaultTimeoutSeconds));
+        long pollMillis = Math.round(median / 4.0 / POLL_STEP_MILLIS) * POLL_STEP_MILLIS;
+        pollMillis = Math.max(minPollMillis, Math.min(pollMillis, maxPollMillis));
+        return new Timing(key, timeoutSeconds, pollMillis, true);
+    }
+
+    /**
+     * Records the duration of a wait.
+     *
+     * @param timing The timing the wait used, or null for waits that aren't learned.
+     * @param nanos How long the wait took.
+     * @param timedOut Whether it ended in a timeout.
+     */
+    public void record(Timing timing, long nanos, boolean timedOut) {
+        if (timing == null) {
+            return;
+        }
+        if (timedOut && timing.adapted) {
+            histories.remove(timing.key);
+            logger.warn("Adaptive wait {} timed out after {}; it falls back to the default timeout ({} s) until it is learned again.",
+                    timing.key, timing, WaitEngine.getDefaultTimeoutSeconds());
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        histories.computeIfAbsent(timing.key, key -> new History()).add(millis);
+    }
+
+    /**
+     * @return The recorded durations per "PageObject|CONDITION|locator", oldest first, in milliseconds.
+     */
+    public Map<String, String> getHistories() {
+        Map<String, String> view = new TreeMap<>();
+        histories.forEach((key, history) -> view.put(key, history.format()));
+        return view;
+    }
+
+    private void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read wait history {}: {}", storeFile, e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            History history = new History();
+            try {
+                Arrays.stream(properties.getProperty(key).split(",")).map(String::trim).filter(value -> !value.isEmpty())
+                        .mapToLong(Long::parseLong).forEach(history::add);
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring unreadable wait history of {}: {}", key, e.getMessage());
+                continue;
+            }
+            histories.put(key, history);
+        }
+        logger.info("Loaded the history of {} wait(s) from {}.", histories.size(), storeFile);
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        histories.forEach((key, history) -> properties.setProperty(key, history.format()));
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Durations in ms of the last waits per page object, condition and locator");
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not save wait history {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Timeout and poll interval for one wait.
+     */
+    public static class Timing {
+        private final String key;
+        private final int timeoutSeconds;
+        private final long pollMillis;
+        private final boolean adapted;
+
+        private Timing(String key, int timeoutSeconds, long pollMillis, boolean adapted) {
+            this.key = key;
+            this.timeoutSeconds = timeoutSeconds;
+            this.pollMillis = pollMillis;
+            this.adapted = adapted;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        public long getPollMillis() {
+            return pollMillis;
+        }
+
+        /**
+         * @return Whether the timing was derived from history rather than the defaults.
+         */
+        public boolean isAdapted() {
+            return adapted;
+        }
+
+        @Override
+        public String toString() {
+            return timeoutSeconds + " s, polling every " + pollMillis + " ms" + (adapted ? "" : " (default)");
+        }
+    }
+
+    /**
+     * The last durations of one wait, in a ring buffer.
+     */
+    private static class History {
+        private final long[] millis = new long[historySize];
+        private int next;
+        private int size;
+
+        private synchronized void add(long value) {
+            millis[next] = value;
+            next = (next + 1) % millis.length;
+            size = Math.min(size + 1, millis.length);
+        }
+
+        private synchronized long[] sorted() {
+            long[] copy = ordered();
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        private synchronized String format() {
+            return Arrays.stream(ordered()).mapToObj(Long::toString).collect(Collectors.joining(","));
+        }
+
+        private long[] ordered() {
+            long[] copy = new long[size];
+            int start = (next - size + millis.length) % millis.length;
+            for (int i = 0; i < size; i++) {
+                copy[i] = millis[(start + i) % millis.length];
+            }
+            return copy;
+        }
+    }
+}